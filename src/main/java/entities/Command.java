@@ -1,37 +1,48 @@
 package entities;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import entities.filters.BusinessPriorityFilter;
-import entities.filters.CreatedAfterFilter;
-import entities.filters.CreatedBeforeFilter;
-import entities.filters.CreatedAtFilter;
 import entities.filters.ExpertiseAreaFilter;
 import entities.filters.Filter;
-import entities.filters.FilterParser;
-import entities.filters.KeywordFilter;
 import entities.filters.PerformanceScoreAboveFilter;
 import entities.filters.PerformanceScoreBelowFilter;
+import entities.filters.PageRequest;
+import entities.filters.QueryPlan;
 import entities.filters.SeniorityFilter;
-import entities.filters.TypeFilter;
+import entities.filters.StatusFilter;
+import entities.filters.TicketIdFilter;
+import entities.filters.TicketPage;
+import entities.filters.TicketSearchResult;
 import entities.filters.Specification;
 import entities.metrics.CustomerImpact;
 import entities.metrics.EfficiencyType;
 import entities.metrics.MetricsManager;
 import entities.metrics.MetricStrategy;
 import entities.metrics.TicketRisk;
+import entities.params.MilestoneParams;
+import entities.params.ReportParams;
 import entities.performance.JuniorPerformance;
 import entities.performance.MidPerformance;
 import entities.performance.PerformanceManager;
 import entities.performance.SeniorPerformance;
+import io.OutputSink;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import utils.EngineContext;
 import utils.ErrLogger;
+import utils.MilestoneRegistry;
 import utils.PHASE;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -62,119 +73,47 @@ public class Command {
      private String timestamp;
      private Ticket ticket;
      private String error;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private ReportParams params;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private int targetTicketId;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private String commentContent;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private Filter filters;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private MilestoneParams milestoneParams;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private Integer limit;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private String cursor;
+     @ToString.Exclude
+     @EqualsAndHashCode.Exclude
+     private EngineContext context;
 
     /**
-     * Unpacks parameters from a JSON node and creates a corresponding {@link Ticket}
-     * based on the specified ticket type.
-     * @param node the JSON node containing ticket data and type information
+     * Creates the {@link Ticket} described by the typed report parameters,
+     * assigning it the next global ticket id
+     * @param reportParams the parameters bound from the command, {@code null} for an
+     *                     unknown ticket type
      */
-    public void unpackParams(final JsonNode node) {
-         ErrLogger errorLogger = ErrLogger.getInstance();
-         switch (node.get("type").asText()) {
-             case "BUG":
-                 BugTicketFactory bugFactory = new BugTicketFactory(
-                         node.has("expectedBehavior")
-                                 ? node.get("expectedBehavior").asText() : null,
-                         node.has("actualBehavior")
-                                 ? node.get("actualBehavior").asText() : null,
-                         node.has("frequency")
-                                 ? Frequency.valueOf(node.get("frequency").asText()) : null,
-                         node.has("severity")
-                                 ? Severity.valueOf(node.get("severity").asText()) : null
-                 );
-                 this.ticket = bugFactory
-                         .id(errorLogger.getTicketIdGlobal())
-                         .title(node.has("title")
-                                 ? node.get("title").asText() : null)
-                         .businessPriority(node.has("businessPriority")
-                                 ? BussinessPriority
-                                    .valueOf(node.get("businessPriority").asText()) : null)
-                         .status(node.has("status")
-                                 ? Status.valueOf(node.get("status").asText()) : null)
-                         .expertiseArea(node.has("expertiseArea")
-                                 ? ExpertiseArea.valueOf(node.get("expertiseArea").asText()) : null)
-                         .description(node.has("description")
-                                 ? node.get("description").asText() : null)
-                         .reportedBy(node.has("reportedBy")
-                                 && !node.get("reportedBy").asText().isEmpty()
-                                 ? node.get("reportedBy").asText()
-                                 : null)
-                         .environment(node.has("environment")
-                                 ? node.get("environment").asText() : null)
-                         .errorCode(node.has("errorCode")
-                                 ? Integer.parseInt(node.get("errorCode").asText()) : -1)
-                         .createTicket();
-                 break;
-             case "FEATURE_REQUEST":
-                 FeatureRequestFactory featureRequestFactory = new FeatureRequestFactory(
-                         node.has("businessValue")
-                                 ? BusinessValue.valueOf(node.get("businessValue").asText())
-                                 : null,
-                         node.has("customerDemand")
-                                 ? CustomerDemand.valueOf(node.get("customerDemand").asText())
-                                 : null
-                 );
-                 this.ticket = featureRequestFactory
-                         .id(errorLogger.getTicketIdGlobal())
-                         .title(node.has("title") ? node.get("title").asText() : null)
-                         .businessPriority(node.has("businessPriority")
-                                 ? BussinessPriority.valueOf(node.get("businessPriority").asText())
-                                 : null)
-                         .status(node.has("status")
-                                 ? Status.valueOf(node.get("status").asText())
-                                 : null)
-                         .expertiseArea(node.has("expertiseArea")
-                                 ? ExpertiseArea.valueOf(node.get("expertiseArea").asText())
-                                 : null)
-                         .description(node.has("description")
-                                 ? node.get("description").asText() : null)
-                         .reportedBy(node.has("reportedBy")
-                                 && !node.get("reportedBy").asText().isEmpty()
-                                 ? node.get("reportedBy").asText()
-                                 : null)
-                         .createTicket();
-                 break;
-             case  "UI_FEEDBACK":
-                 UIFeedbackFactory uiFeedbackFactory = new UIFeedbackFactory(
-                         node.has("businessValue")
-                                 ? BusinessValue.valueOf(node.get("businessValue").asText()) : null,
-                         node.has("usabilityScore")
-                                 ? Integer.parseInt(node.get("usabilityScore").asText()) : -1
-                 );
-                 this.ticket = uiFeedbackFactory
-                         .id(errorLogger.getTicketIdGlobal())
-                         .title(node.has("title")
-                                 ? node.get("title").asText() : null)
-                         .businessPriority(node.has("businessPriority")
-                                 ? BussinessPriority.valueOf(node.get("businessPriority").asText())
-                                 : null)
-                         .status(node.has("status")
-                                 ? Status.valueOf(node.get("status").asText()) : null)
-                         .expertiseArea(node.has("expertiseArea")
-                                 ? ExpertiseArea.valueOf(node.get("expertiseArea").asText())
-                                 : null)
-                         .description(node.has("description")
-                                 ? node.get("description").asText() : null)
-                         .reportedBy(node.has("reportedBy")
-                                 && !node.get("reportedBy").asText().isEmpty()
-                                 ? node.get("reportedBy").asText()
-                                 : null)
-                         .screenshotUrl(node.has("screenshotUrl")
-                                 ? node.get("screenshotUrl").asText() : null)
-                         .suggestedFix(node.has("suggestedFix")
-                                 ? node.get("suggestedFix").asText() : null)
-                         .uiElementId(node.has("uiElementId")
-                                 ? node.get("uiElementId").asText() : null)
-                         .createTicket();
-                 break;
-             default:
-                 break;
-         }
-         if (ticket != null) {
-             ticket.setCreatedAt(timestamp);
-             errorLogger.setTicketIdGlobal(errorLogger.getTicketIdGlobal() + 1);
-         }
-     }
+    public void unpackParams(final ReportParams reportParams) {
+        if (reportParams != null) {
+            this.ticket = reportParams.createTicket(context.getTicketIdGlobal());
+            this.ticket.setContext(context);
+        }
+        if (ticket != null) {
+            ticket.setCreatedAt(timestamp);
+            context.setTicketIdGlobal(context.getTicketIdGlobal() + 1);
+        }
+    }
 
     /**
      * createMilestoneView command helper & wrapper method
@@ -182,7 +121,6 @@ public class Command {
      * @param user for which the view is served, depending if it is MANAGER/DEV
      */
     public ObjectNode createMilestoneView(final ObjectMapper mapper, final User user) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
         ObjectNode root = mapper.createObjectNode();
 
         root.put("command", this.command);
@@ -190,7 +128,7 @@ public class Command {
         root.put("timestamp", this.timestamp);
 
         ArrayNode milestonesArray = mapper.createArrayNode();
-        List<Milestone> milestones = errorLogger.getMilestones();
+        List<Milestone> milestones = context.getMilestones();
 
         if (milestones == null || user == null) {
             root.set("milestones", milestonesArray);
@@ -199,25 +137,15 @@ public class Command {
 
         List<Milestone> visibleMilestones = new ArrayList<>();
 
-        for (Milestone milestone : milestones) {
-            boolean canView = false;
-
-            if ("MANAGER".equals(user.getRole())) {
-                canView = user.getUsername().equals(milestone.getCreatedBy());
-            } else if ("DEVELOPER".equals(user.getRole())) {
-                if (milestone.getAssignedDevs() != null) {
-                    for (String dev : milestone.getAssignedDevs()) {
-                        if (user.getUsername().equals(dev)) {
-                            canView = true;
-                            break;
-                        }
-                    }
+        if ("MANAGER".equals(user.getRole())) {
+            for (Milestone milestone : milestones) {
+                if (user.getUsername().equals(milestone.getCreatedBy())) {
+                    visibleMilestones.add(milestone);
                 }
             }
-
-            if (canView) {
-                visibleMilestones.add(milestone);
-            }
+        } else if ("DEVELOPER".equals(user.getRole())) {
+            visibleMilestones.addAll(context.getMilestoneRegistry()
+                    .findByDeveloper(user.getUsername()));
         }
         visibleMilestones.sort((m1, m2) -> {
             int dateCompare = m1.getDueDate().compareTo(m2.getDueDate());
@@ -235,152 +163,135 @@ public class Command {
     }
 
     /**
-     * viewTickets command helper & wrapper method
-     * @param mapper for mapping the output corresponding ObjectNode
+     * viewTickets command helper & wrapper method, serving a single page of the view when
+     * a limit or a cursor is given
+     * @param outputs the sink the view is rendered to
      * @param user for which the view is served, depending if it is MANAGER/DEV/REPORTER
      */
-    public ObjectNode viewTickets(final ObjectMapper mapper, final User user) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        ObjectNode root = mapper.createObjectNode();
-
-        root.put("command", this.command);
-        root.put("username", this.username);
-        root.put("timestamp", this.timestamp);
-
-        ArrayNode ticketsArray = mapper.createArrayNode();
-
+    public void viewTickets(final OutputSink outputs, final User user) {
         if (user == null) {
-            root.set("tickets", ticketsArray);
-            return root;
+            writeTicketsView(outputs, "tickets", new ArrayList<>(),
+                    TicketViewRenderer::writeTicket);
+            return;
+        }
+        boolean paginated = limit != null || cursor != null;
+        PageRequest page = paginated ? pageRequest(outputs) : null;
+        if (paginated && page == null) {
+            return;
         }
 
-        List<Ticket> visibleTickets = new ArrayList<>();
-
+        BitSet visibleIds = new BitSet();
         switch (user.getRole()) {
 
             case "MANAGER":
-                for (User u : errorLogger.getUsers()) {
-                    if (u.getTickets() != null) {
-                        visibleTickets.addAll(u.getTickets());
-                    }
-                }
+                visibleIds = context.getTickets().allIds();
                 break;
 
             case "DEVELOPER":
-                Set<Integer> milestoneTicketIds =
-                        getMilestoneTicketIdsForDeveloper(user.getUsername(), errorLogger);
-
-                for (User u : errorLogger.getUsers()) {
-                    if (u.getTickets() != null) {
-                        for (Ticket tickett : u.getTickets()) {
-                            if (tickett != null
-                                    && tickett.getStatus() == Status.OPEN
-                                    && milestoneTicketIds.contains(tickett.getId())) {
-
-                                visibleTickets.add(tickett);
-                            }
-                        }
-                    }
-                }
+                visibleIds = getMilestoneTicketIdsForDeveloper(user.getUsername());
+                visibleIds.and(context.getTicketIndex().idsWithStatus(Status.OPEN));
                 break;
 
             case "REPORTER":
-                for (User u : errorLogger.getUsers()) {
-                    if (u.getTickets() != null) {
-                        for (Ticket tickett : u.getTickets()) {
-                            if (tickett != null
-                                    && user.getUsername().equals(tickett.getReportedBy())) {
-
-                                visibleTickets.add(tickett);
-                            }
-                        }
-                    }
+                List<Ticket> reported = context.getTicketIndex().reportedBy(user.getUsername());
+                if (page != null) {
+                    writeTicketsPage(outputs, page.select(reported));
+                } else {
+                    writeTicketsView(outputs, "tickets", reported,
+                            TicketViewRenderer::writeTicket);
                 }
-                break;
+                return;
             default:
                 break;
         }
 
-        visibleTickets.sort(
-                Comparator.comparing(Ticket::getCreatedAt)
-                        .thenComparing(Ticket::getId)
-        );
+        if (page != null) {
+            writeTicketsPage(outputs, page.select(context.getTicketBitmaps(), visibleIds,
+                    context.getTicketIndex().isChronological(), tickett -> true));
+            return;
+        }
+        writeTicketsView(outputs, "tickets",
+                context.getTicketIndex().resolveInViewOrder(visibleIds),
+                TicketViewRenderer::writeTicket);
+    }
 
-        for (Ticket tickett : visibleTickets) {
-            ObjectNode ticketNode = mapper.createObjectNode();
-            ticketNode.put("id", tickett.getId());
-            ticketNode.put("type", tickett.getType());
-            ticketNode.put("title", tickett.getTitle());
-            ticketNode.put("businessPriority", tickett.getBusinessPriority().name());
-            ticketNode.put("status", tickett.getStatus().name());
-            ticketNode.put("createdAt", tickett.getCreatedAt());
-            ticketNode.put("assignedAt", tickett.getAssignedAt() != null
-                    ? tickett.getAssignedAt() : "");
-            ticketNode.put("solvedAt", tickett.getSolvedAt() != null
-                    ? tickett.getSolvedAt() : "");
-            ticketNode.put("assignedTo", tickett.getAssignedTo() != null
-                    ? tickett.getAssignedTo() : "");
-            ticketNode.put("reportedBy", tickett.getReportedBy());
-            ticketNode.set("comments", mapper.createArrayNode());
-
-            ticketsArray.add(ticketNode);
+    /**
+     * Parses the paging inputs of the command, reporting invalid ones as its error
+     * @param outputs the sink receiving the error
+     * @return the page, or {@code null} if the command is not paginated or the inputs are
+     *         invalid, in which case the error was already written
+     */
+    private PageRequest pageRequest(final OutputSink outputs) {
+        try {
+            return PageRequest.of(limit, cursor);
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+            outputs.add(toObjectNode(MAPPER, null));
+            return null;
         }
+    }
 
-        root.set("tickets", ticketsArray);
-        return root;
+    /**
+     * Renders one page of the tickets view, followed by the cursor of the next page
+     */
+    private void writeTicketsPage(final OutputSink outputs, final TicketPage page) {
+        outputs.write(generator -> {
+            generator.writeStartObject();
+            TicketViewRenderer.writeHeader(generator, this);
+            generator.writeArrayFieldStart("tickets");
+            for (Ticket tickett : page.getTickets()) {
+                TicketViewRenderer.writeTicket(generator, tickett);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.getNextCursor());
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Renders a header followed by one array of tickets straight to the sink
+     * @param outputs the sink the view is rendered to
+     * @param field name of the tickets array field
+     * @param tickets the tickets, already in output order
+     * @param entryWriter renders a single ticket entry
+     */
+    private void writeTicketsView(final OutputSink outputs, final String field,
+                                  final List<Ticket> tickets, final TicketWriter entryWriter) {
+        outputs.write(generator -> {
+            generator.writeStartObject();
+            TicketViewRenderer.writeHeader(generator, this);
+            generator.writeArrayFieldStart(field);
+            for (Ticket tickett : tickets) {
+                entryWriter.write(generator, tickett);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Renders a single ticket entry of a view
+     */
+    @FunctionalInterface
+    private interface TicketWriter {
+        void write(JsonGenerator generator, Ticket ticket) throws IOException;
     }
 
     /**
      * viewAssignedTickets command helper & wrapper method
-     * @param mapper for mapping the output corresponding ObjectNode
+     * @param outputs the sink the view is rendered to
      * @param user for which the view is served
      */
-    public ObjectNode viewAssignedTickets(final ObjectMapper mapper, final User user) {
-        ObjectNode root = mapper.createObjectNode();
-        root.put("command", this.command);
-        root.put("username", this.username);
-        root.put("timestamp", this.timestamp);
-
-        ArrayNode ticketsArray = mapper.createArrayNode();
+    public void viewAssignedTickets(final OutputSink outputs, final User user) {
+        List<Ticket> sortedTickets = new ArrayList<>();
         if (user.getAssignedTickets() != null) {
-            List<Ticket> sortedTickets = new ArrayList<>(user.getAssignedTickets());
+            sortedTickets.addAll(user.getAssignedTickets());
             sortedTickets.sort(Comparator
                     .comparing(Ticket::getBusinessPriority).reversed()
                     .thenComparing(Ticket::getId));
-
-            for (Ticket tickett : sortedTickets) {
-                ObjectNode ticketNode = mapper.createObjectNode();
-                ticketNode.put("id", tickett.getId());
-                ticketNode.put("type", tickett.getType());
-                ticketNode.put("title", tickett.getTitle());
-                ticketNode.put("businessPriority", tickett.getBusinessPriority().name());
-                ticketNode.put("status", tickett.getStatus().name());
-                ticketNode.put("createdAt", tickett.getCreatedAt());
-                if (tickett.getAssignedAt() != null && !tickett.getAssignedAt().isEmpty()) {
-                    ticketNode.put("assignedAt", tickett.getAssignedAt());
-                }
-                ticketNode.put("reportedBy", tickett.getReportedBy());
-
-                List<Comment> comments = tickett.getComments();
-                if (comments != null && !comments.isEmpty()) {
-                    ArrayNode commentsArray = mapper.createArrayNode();
-                    for (Comment comment : comments) {
-                        ObjectNode commentNode = mapper.createObjectNode();
-                        commentNode.put("author", comment.getAuthor());
-                        commentNode.put("content", comment.getContent());
-                        commentNode.put("createdAt", comment.getCreatedAt());
-                        commentsArray.add(commentNode);
-                    }
-                    ticketNode.set("comments", commentsArray);
-                } else {
-                    ticketNode.set("comments", mapper.createArrayNode());
-                }
-
-                ticketsArray.add(ticketNode);
-            }
         }
-        root.set("assignedTickets", ticketsArray);
-        return root;
+        writeTicketsView(outputs, "assignedTickets", sortedTickets,
+                TicketViewRenderer::writeAssignedTicket);
     }
 
     /**
@@ -390,79 +301,71 @@ public class Command {
      * @return an ObjectNode containing command metadata and filtered tickets
      */
     public ObjectNode toObjectNode(final ObjectMapper mapper, final User user) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
         ObjectNode root = mapper.createObjectNode();
 
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
 
+        if (user == null) {
+            root.put("error", this.error);
+            return root;
+        }
+
+        List<Ticket> reportedTickets;
+        if ("REPORTER".equals(user.getRole())) {
+            reportedTickets = new ArrayList<>(context.getTicketIndex()
+                    .reportedBy(user.getUsername()));
+            reportedTickets.sort(Comparator.comparingInt(Ticket::getId));
+        } else {
+            reportedTickets = context.getTickets().all();
+        }
+
         ArrayNode ticketsArray = mapper.createArrayNode();
-        boolean bypass = false;
-        for (Command commandd : errorLogger.getInputCommands()) {
-            if (user != null) {
-                switch (user.getRole()) {
-                    case "MANAGER":
-                        if (commandd.ticket != null && commandd.ticket.getIsAssigned() == 0) {
-                            ticketsArray.add(mapper.valueToTree(commandd.ticket));
-                        }
-                        break;
-                    case "DEVELOPER":
-                        if (commandd.ticket != null && commandd.ticket.getIsAssigned() == 0
-                                && commandd.ticket.getStatus() == Status.OPEN
-                                && (commandd.ticket.getAssignedTo() == null
-                                || commandd.ticket.getAssignedTo().isEmpty()
-                                || commandd.ticket.getAssignedTo().equals(user.getUsername()))) {
-                            ticketsArray.add(mapper.valueToTree(commandd.ticket));
-                        }
-                        break;
-                    case "REPORTER":
-                        if (commandd.ticket != null && commandd.ticket.getIsAssigned() == 0
-                                && user.getUsername().equals(commandd.ticket.getReportedBy())) {
-                            ticketsArray.add(mapper.valueToTree(commandd.ticket));
-                        }
-                        break;
-                    default:
-                        break;
-                }
-            } else {
-                root.put("error", this.error);
-                bypass = true;
-                break;
+        for (Ticket tickett : reportedTickets) {
+            if (tickett.getIsAssigned() != 0) {
+                continue;
+            }
+            switch (user.getRole()) {
+                case "MANAGER":
+                    ticketsArray.add(mapper.valueToTree(tickett));
+                    break;
+                case "DEVELOPER":
+                    if (tickett.getStatus() == Status.OPEN
+                            && (tickett.getAssignedTo() == null
+                            || tickett.getAssignedTo().isEmpty()
+                            || tickett.getAssignedTo().equals(user.getUsername()))) {
+                        ticketsArray.add(mapper.valueToTree(tickett));
+                    }
+                    break;
+                case "REPORTER":
+                    if (user.getUsername().equals(tickett.getReportedBy())) {
+                        ticketsArray.add(mapper.valueToTree(tickett));
+                    }
+                    break;
+                default:
+                    break;
             }
         }
-        if (!bypass) {
-            root.set("tickets", ticketsArray);
-        }
+        root.set("tickets", ticketsArray);
         return root;
     }
 
     /**
-     * Finds a user by username in the global user list in ErrLogger
+     * Finds a user by username in the user registry of the engine context
      * @param usernamee the username to search for
      * @return the User object if found, null otherwise
      */
    User foundUser(final String usernamee) {
-         ErrLogger errorLogger = ErrLogger.getInstance();
-         User found = null;
-         List<User> users = errorLogger.getUsers();
-         for (User user : users) {
-              if (user.getUsername().equals(usernamee)) {
-                  found = user;
-                  break;
-              }
-         }
-         return found;
+         return context.getUser(usernamee);
    }
 
     /**
      * Unassigns a ticket from the current user, reverting it to OPEN status.
      * @param usernamee the username of the user performing the unassignment
-     * @param commandNode the JSON node containing the ticket ID to unassign
+     * @param wantedId the ID of the ticket to unassign
      */
-    void unassignTicket(final String usernamee, final JsonNode commandNode) {
-        int wantedId = commandNode.get("ticketID").asInt();
-        ErrLogger errorLogger = ErrLogger.getInstance();
+    void unassignTicket(final String usernamee, final int wantedId) {
         User user = foundUser(usernamee);
         if (user == null) {
             return;
@@ -626,359 +529,211 @@ public class Command {
      * Adds a comment to a specific ticket with validation check
      * @param ticketID the ID of the ticket to comment on
      * @param content the content of the comment
-     * @param outputs the list to add output nodes to
+     * @param outputs the sink receiving output nodes
      */
     public void addComment(final int ticketID, final String content,
-                           final List<ObjectNode> outputs) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        for (User u : errorLogger.getUsers()) {
-            if (u.getTickets() != null) {
-                for (Ticket tickett : u.getTickets()) {
-                    if (tickett != null && tickett.getId() == ticketID) {
-                        if (tickett.getComments() == null) {
-                            tickett.setComments(new ArrayList<>());
-                        }
-                        User commandUser = foundUser(username);
-                        if (tickett.reportedBy == null || tickett.reportedBy.isEmpty()) {
-                            error = "Comments are not allowed on anonymous tickets.";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
-
-                        if (content.length() < INT10) {
-                            error = "Comment must be at least 10 characters long.";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
+                           final OutputSink outputs) {
+        Ticket tickett = context.getTickets().get(ticketID);
+        if (tickett == null) {
+            return;
+        }
+        if (tickett.getComments() == null) {
+            tickett.setComments(new ArrayList<>());
+        }
+        User commandUser = foundUser(username);
+        if (tickett.reportedBy == null || tickett.reportedBy.isEmpty()) {
+            error = "Comments are not allowed on anonymous tickets.";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
 
-                        if (commandUser.getRole().equals("DEVELOPER")
-                                && tickett.getIsAssigned() == 1
-                                && !tickett.getAssignedTo().equals(username)) {
-                            error = "Ticket " + ticketID + " is not assigned to the developer "
-                                    + username + ".";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
-                        if (commandUser.getRole().equals("REPORTER")
-                                && !tickett.reportedBy.equals(username)) {
-                            error = "Reporter " + username + " cannot comment on ticket "
-                                    + ticketID + ".";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
-                        if (commandUser.getRole().equals("REPORTER")
-                                && tickett.getStatus().name().equals("CLOSED")) {
-                            error = "Reporters cannot comment on CLOSED tickets.";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
+        if (content.length() < INT10) {
+            error = "Comment must be at least 10 characters long.";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
 
-                        Comment comment = new Comment(content, username, timestamp);
-                        tickett.addComment(comment);
-                    }
-                }
-            }
+        if (commandUser.getRole().equals("DEVELOPER")
+                && tickett.getIsAssigned() == 1
+                && !tickett.getAssignedTo().equals(username)) {
+            error = "Ticket " + ticketID + " is not assigned to the developer "
+                    + username + ".";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
+        if (commandUser.getRole().equals("REPORTER")
+                && !tickett.reportedBy.equals(username)) {
+            error = "Reporter " + username + " cannot comment on ticket "
+                    + ticketID + ".";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
+        if (commandUser.getRole().equals("REPORTER")
+                && tickett.getStatus().name().equals("CLOSED")) {
+            error = "Reporters cannot comment on CLOSED tickets.";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
         }
+
+        Comment comment = new Comment(content, username, timestamp);
+        tickett.addComment(comment);
     }
 
     /**
      * Removes the most recent comment from a specific ticket (undo op)
      * @param ticketID the ID of the ticket to remove the comment from
-     * @param outputs the list to add output nodes to
+     * @param outputs the sink receiving output nodes
      */
-    public void undoaddComment(final int ticketID, final List<ObjectNode> outputs) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        for (User u : errorLogger.getUsers()) {
-            if (u.getTickets() != null) {
-                for (Ticket tickett : u.getTickets()) {
-                    if (tickett != null && tickett.getId() == ticketID) {
-                        if (tickett.getComments() == null) {
-                            return;
-                        }
-                        if (tickett.reportedBy == null || tickett.reportedBy.isEmpty()) {
-                            error = "Comments are not allowed on anonymous tickets.";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
-                        Comment last = tickett.removeLastComment();
-                    }
-                }
-            }
+    public void undoaddComment(final int ticketID, final OutputSink outputs) {
+        Ticket tickett = context.getTickets().get(ticketID);
+        if (tickett == null) {
+            return;
         }
+        if (tickett.getComments() == null) {
+            return;
+        }
+        if (tickett.reportedBy == null || tickett.reportedBy.isEmpty()) {
+            error = "Comments are not allowed on anonymous tickets.";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
+        Comment last = tickett.removeLastComment();
     }
 
     /**
      * Undoes the most recent status change for a ticket with ID passed in call
      * @param usernamee the username of the user performing the undo
      * @param ticketID the ID of the ticket to revert status for
-     * @param outputs the list to add output nodes to
+     * @param outputs the sink receiving output nodes
      */
     public void undoChangeStatus(final String usernamee, final int ticketID,
-                                 final List<ObjectNode> outputs) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
+                                 final OutputSink outputs) {
         this.error = null;
 
-        for (User u : errorLogger.getUsers()) {
-            if (u.getTickets() != null) {
-                for (Ticket tickett : u.getTickets()) {
-                    if (tickett != null && tickett.getId() == ticketID) {
-                        User commandUser = foundUser(usernamee);
-
-                        if (tickett.getIsAssigned() == 0) {
-                            error = "Ticket " + ticketID + " is not assigned.";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
-
-                        if (commandUser.getRole().equals("DEVELOPER")
-                                && tickett.getIsAssigned() == 1
-                                && !tickett.getAssignedTo().equals(usernamee)) {
-                            error = "Ticket " + ticketID + " is not assigned to developer "
-                                    + usernamee + ".";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
+        Ticket tickett = context.getTickets().get(ticketID);
+        if (tickett == null) {
+            return;
+        }
+        User commandUser = foundUser(usernamee);
 
-                        List<TicketAction> history = tickett.getHistory();
-                        TicketAction mostRecentStatusChange = null;
-                        int mostRecentIndex = -1;
-
-                        if (history != null && !history.isEmpty()) {
-                            for (int i = history.size() - 1; i >= 0; i--) {
-                                TicketAction action = history.get(i);
-                                if ("STATUS_CHANGED".equals(action.getAction())) {
-                                    mostRecentStatusChange = action;
-                                    mostRecentIndex = i;
-                                    break;
-                                }
-                            }
-                        }
+        if (tickett.getIsAssigned() == 0) {
+            error = "Ticket " + ticketID + " is not assigned.";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
 
-                        if (mostRecentStatusChange != null) {
-                            String previousStatus = mostRecentStatusChange.getFrom();
-                            String currentStatus = tickett.getStatus().name();
+        if (commandUser.getRole().equals("DEVELOPER")
+                && tickett.getIsAssigned() == 1
+                && !tickett.getAssignedTo().equals(usernamee)) {
+            error = "Ticket " + ticketID + " is not assigned to developer "
+                    + usernamee + ".";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
 
-                            tickett.setStatus(Status.valueOf(previousStatus));
-                            tickett.addHistoryAction(
-                                    TicketAction.statusChanged(currentStatus,
-                                            previousStatus, usernamee, timestamp)
-                            );
-                        } else {
-                            return;
-                        }
+        List<TicketAction> history = tickett.getHistory();
+        TicketAction mostRecentStatusChange = null;
+        int mostRecentIndex = -1;
 
-                        return;
-                    }
+        if (history != null && !history.isEmpty()) {
+            for (int i = history.size() - 1; i >= 0; i--) {
+                TicketAction action = history.get(i);
+                if ("STATUS_CHANGED".equals(action.getAction())) {
+                    mostRecentStatusChange = action;
+                    mostRecentIndex = i;
+                    break;
                 }
             }
         }
+
+        if (mostRecentStatusChange != null) {
+            String previousStatus = mostRecentStatusChange.getFrom();
+            String currentStatus = tickett.getStatus().name();
+
+            tickett.setStatus(Status.valueOf(previousStatus));
+            tickett.addHistoryAction(
+                    TicketAction.statusChanged(currentStatus,
+                            previousStatus, usernamee, timestamp)
+            );
+        } else {
+            return;
+        }
+
+        return;
     }
 
     /**
      * Changes the status of a ticket to the next logical state in the workflow.
      * @param usernamee the username of the user changing the status
      * @param ticketID the ID of the ticket to update
-     * @param outputs the list to add output nodes to
+     * @param outputs the sink receiving output nodes
      */
     public void changeStatus(final String usernamee, final int ticketID,
-                             final List<ObjectNode> outputs) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        for (User u : errorLogger.getUsers()) {
-            if (u.getTickets() != null) {
-                for (Ticket tickett : u.getTickets()) {
-                    if (tickett != null && tickett.getId() == ticketID) {
-                        User commandUser = foundUser(usernamee);
-                        if (tickett.getIsAssigned() == 0) {
-                            return;
-                        }
+                             final OutputSink outputs) {
+        Ticket tickett = context.getTickets().get(ticketID);
+        if (tickett == null) {
+            return;
+        }
+        User commandUser = foundUser(usernamee);
+        if (tickett.getIsAssigned() == 0) {
+            return;
+        }
 
-                        if (tickett.status.name().equals("CLOSED")) {
-                            return;
-                        }
+        if (tickett.status.name().equals("CLOSED")) {
+            return;
+        }
 
-                        if (commandUser.getRole().equals("DEVELOPER")
-                                && tickett.getIsAssigned() == 1
-                                && !tickett.getAssignedTo().equals(usernamee)) {
-                            error = "Ticket " + ticketID + " is not assigned to developer "
-                                    + usernamee + ".";
-                            outputs.add(toObjectNode(MAPPER, null));
-                            return;
-                        }
+        if (commandUser.getRole().equals("DEVELOPER")
+                && tickett.getIsAssigned() == 1
+                && !tickett.getAssignedTo().equals(usernamee)) {
+            error = "Ticket " + ticketID + " is not assigned to developer "
+                    + usernamee + ".";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
+        }
 
-                        String oldStatus = tickett.getStatus().name();
-                        tickett.setStatus(tickett.status.next());
-                        String newStatus = tickett.getStatus().name();
+        String oldStatus = tickett.getStatus().name();
+        tickett.setStatus(tickett.status.next());
+        String newStatus = tickett.getStatus().name();
 
-                        if ((newStatus.equals("CLOSED") || newStatus.equals("RESOLVED"))
-                                && tickett.getSolvedAt() == null) {
-                            tickett.setSolvedAt(timestamp);
-                        }
-                        tickett.addHistoryAction(
-                                TicketAction.statusChanged(oldStatus, newStatus,
-                                        usernamee, timestamp)
-                        );
-                    }
-                }
-            }
+        if ((newStatus.equals("CLOSED") || newStatus.equals("RESOLVED"))
+                && tickett.getSolvedAt() == null) {
+            tickett.setSolvedAt(timestamp);
         }
+        tickett.addHistoryAction(
+                TicketAction.statusChanged(oldStatus, newStatus,
+                        usernamee, timestamp)
+        );
     }
 
     /**
      * Creates a view of ticket history based on user role and permission
-     * @param mapper the ObjectMapper used to create JSON nodes
+     * @param outputs the sink the view is rendered to
      * @param user the user requesting the history view
-     * @return an ObjectNode containing command metadata and ticket history
      */
-    public ObjectNode viewTicketHistory(final ObjectMapper mapper, final User user) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        ObjectNode root = mapper.createObjectNode();
-
-        root.put("command", this.command);
-        root.put("username", this.username);
-        root.put("timestamp", this.timestamp);
-
-        ArrayNode ticketsArray = mapper.createArrayNode();
-
+    public void viewTicketHistory(final OutputSink outputs, final User user) {
+        List<Ticket> visibleTickets = new ArrayList<>();
         if (user == null) {
-            root.set("ticketHistory", ticketsArray);
-            return root;
+            writeTicketsView(outputs, "ticketHistory", visibleTickets,
+                    TicketViewRenderer::writeTicketHistory);
+            return;
         }
 
-        List<Ticket> visibleTickets = new ArrayList<>();
-
+        BitSet visibleIds = new BitSet();
         if ("DEVELOPER".equals(user.getRole())) {
-            for (User u : errorLogger.getUsers()) {
-                if (u.getTickets() != null) {
-                    for (Ticket tickett : u.getTickets()) {
-                        if (tickett != null && tickett.getHistory() != null) {
-                            boolean hasInteraction = tickett.getHistory().stream()
-                                    .anyMatch(action -> user.getUsername().equals(action.getBy()));
-                            if (hasInteraction) {
-                                visibleTickets.add(tickett);
-                            }
-                        }
-                    }
-                }
-            }
-
+            visibleIds = context.getTicketIndex().idsTouchedBy(user.getUsername());
         } else if ("MANAGER".equals(user.getRole())) {
-            List<Milestone> milestones = errorLogger.getMilestones();
-            if (milestones != null) {
-                for (Milestone milestone : milestones) {
-                    if (user.getUsername().equals(milestone.getCreatedBy())) {
-                        visibleTickets.addAll(milestone.getMilestoneTickets());
+            for (Milestone milestone : context.getMilestones()) {
+                if (user.getUsername().equals(milestone.getCreatedBy())) {
+                    for (Ticket tickett : milestone.getMilestoneTickets()) {
+                        visibleIds.set(tickett.getId());
                     }
                 }
             }
         }
-        Set<Integer> seenIds = new HashSet<>();
-        List<Ticket> uniqueTickets = new ArrayList<>();
-        for (Ticket tickett : visibleTickets) {
-            if (!seenIds.contains(tickett.getId())) {
-                seenIds.add(tickett.getId());
-                uniqueTickets.add(tickett);
-            }
-        }
-
-        uniqueTickets.sort(Comparator
-                .comparing(Ticket::getCreatedAt)
-                .thenComparing(Ticket::getId));
-        for (Ticket tickett : uniqueTickets) {
-            ObjectNode ticketNode = mapper.createObjectNode();
-            ticketNode.put("id", tickett.getId());
-            ticketNode.put("title", tickett.getTitle());
-            ticketNode.put("status", tickett.getStatus().name());
-            ArrayNode actionsArray = mapper.createArrayNode();
-            List<TicketAction> actions = tickett.getHistory();
-            if (actions != null) {
-                for (TicketAction action : actions) {
-                    actionsArray.add(mapper.valueToTree(action));
-                }
-            }
-            ticketNode.set("actions", actionsArray);
-            ArrayNode commentsArray = mapper.createArrayNode();
-            List<Comment> comments = tickett.getComments();
-            if (comments != null) {
-                for (Comment comment : comments) {
-                    ObjectNode commentNode = mapper.createObjectNode();
-                    commentNode.put("author", comment.getAuthor());
-                    commentNode.put("content", comment.getContent());
-                    commentNode.put("createdAt", comment.getCreatedAt());
-                    commentsArray.add(commentNode);
-                }
-            }
-            ticketNode.set("comments", commentsArray);
-            ticketsArray.add(ticketNode);
-        }
-
-        root.set("ticketHistory", ticketsArray);
-        return root;
-    }
-
-    /**
-     * Builds a composite specification for filtering tickets based on a filter
-     * @param filter the filter containing criteria for ticket selection
-     * @return a Specification<Ticket> that combines all filter conditions
-     */
-    private Specification<Ticket> buildCompositeSpecificationTicket(final Filter filter) {
-        Specification<Ticket> compositeSpec = null;
-
-        if (filter.hasCreatedAt()) {
-            String createdAt = filter.getCreatedAt();
-            CreatedAtFilter createdAtFilter = new CreatedAtFilter(createdAt);
-            compositeSpec = (compositeSpec == null)
-                    ? createdAtFilter : compositeSpec.and(createdAtFilter);
-        }
-
-        if (filter.hasCreatedBefore()) {
-            String createdBefore = filter.getCreatedBefore();
-            CreatedBeforeFilter createdBeforeFilter = new CreatedBeforeFilter(createdBefore);
-            compositeSpec = (compositeSpec == null)
-                    ? createdBeforeFilter : compositeSpec.and(createdBeforeFilter);
-        }
-
-        if (filter.hasCreatedAfter()) {
-            String createdAfter = filter.getCreatedAfter();
-            CreatedAfterFilter createdAfterFilter = new CreatedAfterFilter(createdAfter);
-            compositeSpec = (compositeSpec == null)
-                    ? createdAfterFilter : compositeSpec.and(createdAfterFilter);
-        }
-
-        if (filter.hasBusinessPriority()) {
-            String businessPriority = filter.getBusinessPriority();
-            try {
-                BussinessPriority priority =
-                        BussinessPriority.valueOf(businessPriority.toUpperCase());
-                BusinessPriorityFilter priorityFilter =
-                        new BusinessPriorityFilter(priority.toString());
-                compositeSpec = (compositeSpec == null)
-                        ? priorityFilter : compositeSpec.and(priorityFilter);
-            } catch (IllegalArgumentException e) {
-            }
-        }
-
-        if (filter.hasType()) {
-            String type = filter.getType();
-            TypeFilter typeFilter = new TypeFilter(type);
-            compositeSpec = (compositeSpec == null)
-                    ? typeFilter : compositeSpec.and(typeFilter);
-        }
-
-        if (filter.hasKeywords()) {
-            List<String> keywords = filter.getKeywordsList();
-
-            Specification<Ticket> keywordSpec = null;
-            for (String keyword : keywords) {
-                KeywordFilter keywordFilter = new KeywordFilter(keyword);
-                keywordSpec = (keywordSpec == null)
-                        ? keywordFilter : keywordSpec.or(keywordFilter);
-            }
-            if (keywordSpec != null) {
-                compositeSpec = (compositeSpec == null)
-                        ? keywordSpec : compositeSpec.and(keywordSpec);
-            }
-        }
-        return compositeSpec != null ? compositeSpec : ticket -> true;
+        writeTicketsView(outputs, "ticketHistory",
+                context.getTicketIndex().resolveInViewOrder(visibleIds),
+                TicketViewRenderer::writeTicketHistory);
     }
 
     /**
@@ -1029,18 +784,10 @@ public class Command {
 
     /**
      * Performs a search operation based on filter criteria and user role.
-     * @param outputs the list to add search results to
+     * @param outputs the sink receiving search results
      * @param filter the filter containing search criteria
      */
-    public void searchFilters(final List<ObjectNode> outputs, final Filter filter) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        ObjectNode root = MAPPER.createObjectNode();
-
-        root.put("command", this.command);
-        root.put("username", this.username);
-        root.put("timestamp", this.timestamp);
-        root.put("searchType", filter.getSearchType());
-
+    public void searchFilters(final OutputSink outputs, final Filter filter) {
         User currentUser = foundUser(username);
         if (currentUser == null) {
             error = "User " + username + " not found.";
@@ -1063,10 +810,9 @@ public class Command {
             List<User> visibleUsers = new ArrayList<>();
             if (currentUser.getSubordinates() != null) {
                 for (String subordinateUsername: currentUser.getSubordinates()) {
-                    for (User glbusr: errorLogger.getUsers()) {
-                        if (glbusr.getUsername().equals(subordinateUsername)) {
-                            visibleUsers.add(glbusr);
-                        }
+                    User subordinate = context.getUser(subordinateUsername);
+                    if (subordinate != null) {
+                        visibleUsers.add(subordinate);
                     }
                 }
             }
@@ -1077,184 +823,187 @@ public class Command {
                 }
             }
             filteredUsers.sort(Comparator.comparing(User::getUsername));
-            ArrayNode usersArray = MAPPER.createArrayNode();
-            for (User user : filteredUsers) {
-                ObjectNode userNode = MAPPER.createObjectNode();
-                userNode.put("username", user.getUsername());
-                userNode.put("expertiseArea", user.getExpertiseArea().toString());
-                userNode.put("seniority", user.getSeniority().toString());
-                userNode.put("performanceScore", user.getPerformanceScore());
-                userNode.put("hireDate", user.getHireDate().toString());
-                usersArray.add(userNode);
-            }
-            root.set("results", usersArray);
-            outputs.add(root);
+            outputs.write(generator -> {
+                writeSearchHeader(generator, filter);
+                for (User user : filteredUsers) {
+                    TicketViewRenderer.writeDeveloperResult(generator, user);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            });
             return;
         } else {
-            Specification<Ticket> searchSpec = buildCompositeSpecificationTicket(filter);
-            List<Ticket> visibleTickets = getVisibleTickets(currentUser);
-            if (currentUser.getRole().equals("DEVELOPER")) {
-                Specification<Ticket> openTicketsOnly = ticket -> ticket.getStatus() == Status.OPEN;
-                searchSpec = (searchSpec == null)
-                        ? openTicketsOnly : searchSpec.and(openTicketsOnly);
+            boolean paginated = limit != null || cursor != null;
+            PageRequest page = paginated ? pageRequest(outputs) : null;
+            if (paginated && page == null) {
+                return;
+            }
+            List<String> cacheKey = List.of(currentUser.getUsername(),
+                    filter.ticketSearchKey());
+            long version = context.searchStateVersion();
+            TicketSearchResult result = context.getSearchCache().get(cacheKey, version);
+            if (result == null && page == null) {
+                result = searchTickets(currentUser, filter);
+                context.getSearchCache().put(cacheKey, version, result);
             }
-            List<Ticket> filteredTickets = new ArrayList<>();
-            for (Ticket tickett : visibleTickets) {
-                if (!searchSpec.isSatisfiedBy(tickett)) {
-                    continue;
-                }
-                if (filter.hasAvailableForAssignment()
-                        && filter.getAvailableForAssignment()
-                        && currentUser.getRole().equals("DEVELOPER")) {
 
-                    if (!canBeAssignedInSearch(currentUser, tickett)) {
-                        continue;
-                    }
-                }
-                filteredTickets.add(tickett);
+            TicketPage results;
+            List<Map.Entry<String, BitSet>> keywordIds;
+            if (result == null) {
+                // a page alone is not cached, it is selected without the full result
+                results = planSearch(currentUser, filter).execute(page);
+                keywordIds = matchingWordIdsFor(currentUser, filter);
+            } else {
+                results = page == null ? new TicketPage(result.getTickets(), null)
+                        : page.select(result.getTickets());
+                keywordIds = result.getKeywordIds();
             }
+            outputs.write(generator -> {
+                writeSearchHeader(generator, filter);
+                for (Ticket tickett : results.getTickets()) {
+                    TicketViewRenderer.writeSearchResult(generator, tickett,
+                            keywordIds != null ? matchingWords(tickett, keywordIds) : null);
+                }
+                generator.writeEndArray();
+                if (page != null) {
+                    generator.writeStringField("nextCursor", results.getNextCursor());
+                }
+                generator.writeEndObject();
+            });
+        }
+    }
 
-            filteredTickets.sort(Comparator
-                    .comparing(Ticket::getCreatedAt)
-                    .thenComparing(Ticket::getId));
+    /**
+     * Plans and runs a ticket search, resolving the keywords matched by the results
+     * when the searching user is a manager
+     * @param currentUser the searching user
+     * @param filter the search filter
+     * @return the matching tickets, in view order, with the ids matching each keyword
+     */
+    private TicketSearchResult searchTickets(final User currentUser, final Filter filter) {
+        return new TicketSearchResult(planSearch(currentUser, filter).execute(),
+                matchingWordIdsFor(currentUser, filter));
+    }
 
-            ArrayNode ticketsArray = MAPPER.createArrayNode();
-            for (Ticket tickett : filteredTickets) {
-                ObjectNode ticketNode = MAPPER.createObjectNode();
-                ticketNode.put("id", tickett.getId());
-                ticketNode.put("type", tickett.getType());
-                ticketNode.put("title", tickett.getTitle());
-                ticketNode.put("businessPriority", tickett.getBusinessPriority().toString());
-                ticketNode.put("status", tickett.getStatus().toString());
-                ticketNode.put("createdAt", tickett.getCreatedAt());
-                ticketNode.put("solvedAt", tickett.getSolvedAt() == null
-                        ? "" : tickett.getSolvedAt());
-                ticketNode.put("reportedBy", tickett.getReportedBy());
-
-                if (currentUser.getRole().equals("MANAGER")) {
-                    ArrayNode matchingWordsArray = MAPPER.createArrayNode();
-                    if (filter.hasKeywords()) {
-                        List<String> matchingWords = new ArrayList<>();
-                        String titleLower = tickett.getTitle() != null
-                                ? tickett.getTitle().toLowerCase() : "";
-                        String descriptionLower = tickett.getDescription() != null
-                                ? tickett.getDescription().toLowerCase() : "";
-
-                        for (String keyword : filter.getKeywordsList()) {
-                            String keywordLower = keyword.toLowerCase();
-                            if (titleLower.contains(keywordLower)
-                                    || descriptionLower.contains(keywordLower)) {
-                                matchingWords.add(keyword);
-                            }
-                        }
+    /**
+     * Plans a ticket search over the tickets visible to the searching user, keeping the
+     * plan on the context for inspection
+     * @param currentUser the searching user
+     * @param filter the search filter
+     * @return the plan, ready to be executed
+     */
+    private QueryPlan planSearch(final User currentUser, final Filter filter) {
+        List<QueryPlan.Step> residual = new ArrayList<>();
+        if (filter.hasAvailableForAssignment()
+                && filter.getAvailableForAssignment()
+                && currentUser.getRole().equals("DEVELOPER")) {
+            residual.add(QueryPlan.Step.residual("availableForAssignment",
+                    tickett -> canBeAssignedInSearch(currentUser, tickett)));
+        }
+        QueryPlan plan = context.getQueryPlanner()
+                .plan(filter, getVisibleTickets(currentUser), residual);
+        context.setLastSearchPlan(plan);
+        return plan;
+    }
 
-                        Collections.sort(matchingWords);
-                        for (String word : matchingWords) {
-                            matchingWordsArray.add(word);
-                        }
-                    }
+    /**
+     * @return the ids matching each keyword when the searching user is a manager, to whom
+     *         the matching words are reported, {@code null} otherwise
+     */
+    private List<Map.Entry<String, BitSet>> matchingWordIdsFor(final User currentUser,
+                                                              final Filter filter) {
+        return currentUser.getRole().equals("MANAGER") ? matchingWordIds(filter) : null;
+    }
 
-                    ticketNode.set("matchingWords", matchingWordsArray);
-                }
+    /**
+     * Opens a search result object and its {@code results} array
+     */
+    private void writeSearchHeader(final JsonGenerator generator,
+                                   final Filter filter) throws IOException {
+        generator.writeStartObject();
+        TicketViewRenderer.writeHeader(generator, this);
+        generator.writeStringField("searchType", filter.getSearchType());
+        generator.writeArrayFieldStart("results");
+    }
 
-                ticketsArray.add(ticketNode);
-            }
+    /**
+     * Resolves every filter keyword, ignoring case, to the ids of the tickets whose title
+     * or description contains it
+     * @param filter the search filter
+     * @return the keywords with their ids, sorted by keyword, empty if the filter has none
+     */
+    private List<Map.Entry<String, BitSet>> matchingWordIds(final Filter filter) {
+        Map<String, BitSet> idsByKeyword = new HashMap<>();
+        List<Map.Entry<String, BitSet>> keywordIds = new ArrayList<>();
+        for (String keyword : filter.getKeywordsList()) {
+            keywordIds.add(Map.entry(keyword, idsByKeyword.computeIfAbsent(keyword,
+                    context.getKeywordIndex()::idsContainingIgnoreCase)));
+        }
+        keywordIds.sort(Map.Entry.comparingByKey());
+        return keywordIds;
+    }
 
-            root.set("results", ticketsArray);
-            outputs.add(root);
+    /**
+     * Returns the sorted filter keywords found in the ticket title or description
+     * @param tickett the matched ticket
+     * @param keywordIds the ids matching every keyword, as built by matchingWordIds
+     * @return the matching keywords, empty if the filter has none
+     */
+    private static List<String> matchingWords(final Ticket tickett,
+                                              final List<Map.Entry<String, BitSet>> keywordIds) {
+        List<String> matchingWords = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : keywordIds) {
+            if (entry.getValue().get(tickett.getId())) {
+                matchingWords.add(entry.getKey());
+            }
         }
+        return matchingWords;
     }
 
     /**
-     * Gets the list of tickets visible to a specific user based on their role
+     * Gets the tickets visible to a specific user based on their role, as a specification
+     * evaluated over the ticket bitmaps: developers see the open tickets of their
+     * milestones which are not assigned to someone else
      * @param user the user requesting the tickets
-     * @return a list of tickets visible to the user
+     * @return the specification of the tickets visible to the user
      */
-    private List<Ticket> getVisibleTickets(final User user) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        List<Ticket> visibleTickets = new ArrayList<>();
-
+    private Specification<Ticket> getVisibleTickets(final User user) {
         switch (user.getRole()) {
             case "MANAGER":
-                for (User u : errorLogger.getUsers()) {
-                    if (u.getTickets() != null) {
-                        visibleTickets.addAll(u.getTickets());
-                    }
-                }
-                break;
+                return new TicketIdFilter(context.getTickets().allIds());
 
             case "DEVELOPER":
-                Set<Integer> milestoneTicketIds =
-                        getMilestoneTicketIdsForDeveloper(user.getUsername(), errorLogger);
-
-                for (User u : errorLogger.getUsers()) {
-                    if (u.getTickets() != null) {
-                        for (Ticket tickett : u.getTickets()) {
-                            if (tickett != null
-                                    && tickett.getStatus() == Status.OPEN
-                                    && milestoneTicketIds.contains(tickett.getId())
-                                    && (tickett.getIsAssigned() == 0
-                                    || (tickett.getAssignedTo() != null
-                                    && tickett.getAssignedTo().equals(user.getUsername())))) {
-                                visibleTickets.add(tickett);
-                            }
-                        }
-                    }
-                }
-                break;
+                Specification<Ticket> notAssignedToOthers = tickett ->
+                        tickett.getIsAssigned() == 0
+                        || (tickett.getAssignedTo() != null
+                        && tickett.getAssignedTo().equals(user.getUsername()));
+                return new TicketIdFilter(getMilestoneTicketIdsForDeveloper(user.getUsername()))
+                        .and(new StatusFilter(Status.OPEN))
+                        .and(notAssignedToOthers);
             default: {
-                break;
+                return new TicketIdFilter(new BitSet());
             }
         }
-
-        return visibleTickets;
     }
 
     /**
-     * Gets the set of ticket IDs from milestones assigned to a specific dev
+     * Gets the ids of the tickets from milestones assigned to a specific dev,
+     * precomputed by the milestone registry
      * @param developerUsername the username of the developer
-     * @param errorLogger the error logger containing milestone data
-     * @return a set of ticket IDs assigned to the developer via milestones
+     * @return the ticket ids assigned to the developer via milestones, as a modifiable set
      */
-    private Set<Integer> getMilestoneTicketIdsForDeveloper(final String developerUsername,
-                                                           final ErrLogger errorLogger) {
-        Set<Integer> ticketIds = new HashSet<>();
-
-        if (errorLogger.getMilestones() == null) {
-            return ticketIds;
-        }
-
-        for (Milestone milestone : errorLogger.getMilestones()) {
-            if (milestone.getAssignedDevs() != null) {
-                boolean isAssigned = false;
-                for (String dev : milestone.getAssignedDevs()) {
-                    if (dev.equals(developerUsername)) {
-                        isAssigned = true;
-                        break;
-                    }
-                }
-
-                if (isAssigned && milestone.getTickets() != null) {
-                    for (int ticketId : milestone.getTickets()) {
-                        ticketIds.add(ticketId);
-                    }
-                }
-            }
-        }
-
-        return ticketIds;
+    private BitSet getMilestoneTicketIdsForDeveloper(final String developerUsername) {
+        return context.getMilestoneRegistry().findTicketIdsByDeveloper(developerUsername);
     }
 
     /**
      * Assigns a ticket to the current user with validation check
      * @param usernamee the username of the user assigning the ticket to themselves
-     * @param commandNode the JSON node containing the ticket ID to assign
-     * @param outputs the list to add output nodes to
+     * @param wantedId the ID of the ticket to assign
+     * @param outputs the sink receiving output nodes
      */
-    void assignTicket2(final String usernamee, final JsonNode commandNode,
-                       final List<ObjectNode> outputs) {
-        int wantedId = commandNode.get("ticketID").asInt();
-        ErrLogger errorLogger = ErrLogger.getInstance();
+    void assignTicket2(final String usernamee, final int wantedId,
+                       final OutputSink outputs) {
         User user = foundUser(usernamee);
 
         if (user == null) {
@@ -1271,21 +1020,7 @@ public class Command {
             return;
         }
 
-        Ticket ticketToAssign = null;
-        for (User u : errorLogger.getUsers()) {
-            if (u.getTickets() != null) {
-                for (Ticket tickett : u.getTickets()) {
-                    if (tickett != null && tickett.getId() == wantedId) {
-                        ticketToAssign = tickett;
-                        break;
-                    }
-                }
-            }
-            if (ticketToAssign != null) {
-                break;
-            }
-        }
-
+        Ticket ticketToAssign = context.getTickets().get(wantedId);
         if (ticketToAssign == null) {
             return;
         }
@@ -1326,59 +1061,25 @@ public class Command {
             return;
         }
 
-        List<Milestone> milestones = errorLogger.getMilestones();
-        boolean canAssign = true;
-        System.out.println("=== DEBUG assignTicket2 for ticket " + wantedId + " ===");
-        System.out.println("Checking milestones...");
-        if (milestones != null) {
-            canAssign = false;
-
-            for (Milestone milestone : milestones) {
-                if (milestone.getMilestoneTickets() == null) {
-                    continue;
-                }
-                boolean ticketInMilestone = milestone.getMilestoneTickets().stream()
-                        .anyMatch(t -> t.getId() == wantedId);
-
-                if (milestone.getMilestoneTickets() != null) {
-                    System.out.println("    Ticket IDs in milestoneTickets:");
-                    for (Ticket t : milestone.getMilestoneTickets()) {
-                        System.out.println("      - ID: " + t.getId()
-                                + " (looking for: " + wantedId + ")");
-                    }
-
-                    boolean ticketInMilestonee = milestone.getMilestoneTickets().stream()
-                            .anyMatch(t -> t.getId() == wantedId);
-                    System.out.println("    Stream anyMatch result: " + ticketInMilestonee);
-                }
-                if (!ticketInMilestone) {
-                    continue;
-                }
-                if (milestone.isBlocked()) {
-                    error = "Cannot assign ticket " + wantedId
-                            + " from blocked milestone " + milestone.getName() + ".";
-                    outputs.add(toObjectNode(MAPPER, null));
-                    return;
-                }
-
-                if (milestone.getAssignedDevs() == null
-                        || Arrays.stream(milestone.getAssignedDevs()).
-                        noneMatch(usernamee::equals)) {
-
-                    error = "Developer " + usernamee
-                            + " is not assigned to milestone " + milestone.getName() + ".";
-                    outputs.add(toObjectNode(MAPPER, null));
-                    return;
-                }
-
-                canAssign = true;
-                break;
-            }
+        Milestone milestone = context.getMilestoneRegistry().findByResolvedTicket(wantedId);
+        if (milestone == null) {
+            return;
+        }
+        if (milestone.isBlocked()) {
+            error = "Cannot assign ticket " + wantedId
+                    + " from blocked milestone " + milestone.getName() + ".";
+            outputs.add(toObjectNode(MAPPER, null));
+            return;
         }
 
-        if (!canAssign) {
+        if (!context.getMilestoneRegistry().isAssigned(usernamee, milestone)) {
+
+            error = "Developer " + usernamee
+                    + " is not assigned to milestone " + milestone.getName() + ".";
+            outputs.add(toObjectNode(MAPPER, null));
             return;
         }
+
         String oldStatus = ticketToAssign.getStatus().name();
         ticketToAssign.setStatus(Status.IN_PROGRESS);
         ticketToAssign.setAssignedAt(timestamp);
@@ -1401,7 +1102,6 @@ public class Command {
      * @return true if the ticket can be assigned to the developer, false otherwise
      */
     private boolean canBeAssignedInSearch(final User dev, final Ticket tickett) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
         if (tickett.getStatus() != Status.OPEN) {
             return false;
         }
@@ -1415,47 +1115,19 @@ public class Command {
                 tickett)) {
             return false;
         }
-        List<Milestone> milestones = errorLogger.getMilestones();
-        if (milestones == null) {
-            return false;
-        }
-
-        for (Milestone milestone : milestones) {
-            if (milestone.getMilestoneTickets() == null) {
-                continue;
-            }
-
-            boolean containsTicket = milestone.getMilestoneTickets()
-                    .stream()
-                    .anyMatch(t -> t.getId() == tickett.getId());
-
-            if (!containsTicket) {
-                continue;
-            }
-            if (milestone.isBlocked()) {
-                return false;
-            }
-            if (milestone.getAssignedDevs() == null) {
-                return false;
-            }
-
-            for (String devName : milestone.getAssignedDevs()) {
-                if (devName.equals(dev.getUsername())) {
-                    return true;
-                }
-            }
-
+        Milestone milestone = context.getMilestoneRegistry()
+                .findByResolvedTicket(tickett.getId());
+        if (milestone == null || milestone.isBlocked()) {
             return false;
         }
-
-        return false;
+        return context.getMilestoneRegistry().isAssigned(dev.getUsername(), milestone);
     }
 
     /**
      * viewNotifications command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    public void viewNotifications(final List<ObjectNode> outputs) {
+    public void viewNotifications(final OutputSink outputs) {
         User user = foundUser(username);
         if (user == null) {
             return;
@@ -1472,28 +1144,17 @@ public class Command {
 
     /**
      * generateCustomerImpactReport command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    void generateCustomerImpactReport(final List<ObjectNode> outputs) {
+    void generateCustomerImpactReport(final OutputSink outputs) {
         ObjectNode root = MAPPER.createObjectNode();
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        Set<Ticket> okayTickets = new HashSet<>();
-        for (User usr: errorLogger.getUsers()) {
-             if (usr.getTickets() != null) {
-                 for (Ticket tickett: usr.getTickets()) {
-                     if (tickett != null && tickett.getStatus().toString().equals("OPEN")
-                             || tickett.getStatus().toString().equals("IN_PROGRESS")) {
-                         okayTickets.add(tickett);
-                     }
-                 }
-             }
-         }
+        List<Ticket> ticketList = context.getTickets().resolve(
+                context.getTicketIndex().idsWithStatus(Status.OPEN, Status.IN_PROGRESS));
         MetricStrategy customerImpact = new CustomerImpact();
         MetricsManager metricsManager = new MetricsManager(customerImpact);
-        List<Ticket> ticketList = new ArrayList<>(okayTickets);
         ObjectNode reportNode = metricsManager.processMetrics(
                 customerImpact.totalNumber(ticketList),
                 customerImpact.totalTicketsType(ticketList),
@@ -1507,28 +1168,17 @@ public class Command {
 
     /**
      * generateTicketRiskReport command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    void generateTicketRiskReport(final List<ObjectNode> outputs) {
+    void generateTicketRiskReport(final OutputSink outputs) {
         ObjectNode root = MAPPER.createObjectNode();
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        Set<Ticket> okayTickets = new HashSet<>();
-        for (User usr: errorLogger.getUsers()) {
-            if (usr.getTickets() != null) {
-                for (Ticket tickett: usr.getTickets()) {
-                    if (tickett != null && tickett.getStatus().toString().equals("OPEN")
-                            || tickett.getStatus().toString().equals("IN_PROGRESS")) {
-                        okayTickets.add(tickett);
-                    }
-                }
-            }
-        }
+        List<Ticket> ticketList = context.getTickets().resolve(
+                context.getTicketIndex().idsWithStatus(Status.OPEN, Status.IN_PROGRESS));
         MetricStrategy ticketRisk = new TicketRisk();
         MetricsManager metricsManager = new MetricsManager(ticketRisk);
-        List<Ticket> ticketList = new ArrayList<>(okayTickets);
         ObjectNode reportNode = metricsManager.processMetrics(
                 ticketRisk.totalNumber(ticketList),
                 ticketRisk.totalTicketsType(ticketList),
@@ -1542,28 +1192,17 @@ public class Command {
 
     /**
      * generateResolutionEfficiencyReport command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    void generateResolutionEfficiencyReport(final List<ObjectNode> outputs) {
+    void generateResolutionEfficiencyReport(final OutputSink outputs) {
         ObjectNode root = MAPPER.createObjectNode();
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        Set<Ticket> okayTickets = new HashSet<>();
-        for (User usr: errorLogger.getUsers()) {
-            if (usr.getTickets() != null) {
-                for (Ticket tickett: usr.getTickets()) {
-                    if (tickett != null && tickett.getStatus().toString().equals("CLOSED")
-                            || tickett.getStatus().toString().equals("RESOLVED")) {
-                        okayTickets.add(tickett);
-                    }
-                }
-            }
-        }
+        List<Ticket> ticketList = context.getTickets().resolve(
+                context.getTicketIndex().idsWithStatus(Status.CLOSED, Status.RESOLVED));
         MetricStrategy efficiencyType = new EfficiencyType();
         MetricsManager metricsManager = new MetricsManager(efficiencyType);
-        List<Ticket> ticketList = new ArrayList<>(okayTickets);
         ObjectNode reportNode = metricsManager.processMetrics(
                 efficiencyType.totalNumber(ticketList),
                 efficiencyType.totalTicketsType(ticketList),
@@ -1577,35 +1216,16 @@ public class Command {
 
     /**
      * appStabilityReport command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    public void appStabilityReport(final List<ObjectNode> outputs) {
+    public void appStabilityReport(final OutputSink outputs) {
         ObjectNode root = MAPPER.createObjectNode();
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
 
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        Set<Ticket> activeTickets = new HashSet<>();
-
-        for (User usr : errorLogger.getUsers()) {
-            if (usr.getTickets() == null) {
-                continue;
-            }
-
-            for (Ticket ticket : usr.getTickets()) {
-                if (ticket == null) {
-                    continue;
-                }
-
-                String status = ticket.getStatus().toString();
-                if ("OPEN".equals(status) || "IN_PROGRESS".equals(status)) {
-                    activeTickets.add(ticket);
-                }
-            }
-        }
-
-        List<Ticket> ticketList = new ArrayList<>(activeTickets);
+        List<Ticket> ticketList = context.getTickets().resolve(
+                context.getTicketIndex().idsWithStatus(Status.OPEN, Status.IN_PROGRESS));
 
         MetricStrategy customerImpact = new CustomerImpact();
         MetricStrategy ticketRisk = new TicketRisk();
@@ -1654,16 +1274,15 @@ public class Command {
 
     /**
      * generatePerformanceReport command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    void generatePerformanceReport(final List<ObjectNode> outputs) {
+    void generatePerformanceReport(final OutputSink outputs) {
         ObjectNode root = MAPPER.createObjectNode();
         root.put("command", this.command);
         root.put("username", this.username);
         root.put("timestamp", this.timestamp);
 
         String[] sortedAssignedDevs = null;
-        ErrLogger errorLogger = ErrLogger.getInstance();
         User user = foundUser(this.username);
         sortedAssignedDevs =
                         Arrays.stream(user.getSubordinates())
@@ -1674,10 +1293,9 @@ public class Command {
             return;
         }
         for (String devInSorted: sortedAssignedDevs) {
-            for (User u: errorLogger.getUsers()) {
-                if (u.getUsername().equals(devInSorted)) {
-                    devs.add(u);
-                }
+            User dev = context.getUser(devInSorted);
+            if (dev != null) {
+                devs.add(dev);
             }
         }
         int monthToLook = LocalDate.parse(this.timestamp).getMonthValue();
@@ -1734,11 +1352,11 @@ public class Command {
 
     /**
      * Command manager handler for entire engine. Directly used by {@link main.App}
-     * @param outputs for the output printing node list
-     * @param commandNode input JSON command deserialized by {@code treetoValue() method}
+     * Every input of the command (ticket ID, comment, filters, report and milestone
+     * parameters) is bound beforehand by the {@link io.CommandSource} it comes from
+     * @param outputs for the output printing sink
      */
-    public void handle(final List<ObjectNode> outputs, final JsonNode commandNode) {
-         ErrLogger errorLogger = ErrLogger.getInstance();
+    public void handle(final OutputSink outputs) {
          switch (this.command) {
              case "reportTicket":
                  handleReportTicket(outputs);
@@ -1746,58 +1364,54 @@ public class Command {
              case "lostInvestors":
                  break;
              case "viewAssignedTickets":
-                 outputs.add(viewAssignedTickets(MAPPER, foundUser(username)));
+                 viewAssignedTickets(outputs, foundUser(username));
                  break;
              case "assignTicket":
-                 assignTicket2(username, commandNode, outputs);
+                 assignTicket2(username, targetTicketId, outputs);
                  break;
              case "viewTickets":
-                 outputs.add(viewTickets(MAPPER, foundUser(username)));
+                 viewTickets(outputs, foundUser(username));
                  break;
              case "createMilestone":
-                 handleCreateMilestone(outputs, commandNode);
+                 handleCreateMilestone(outputs);
                  break;
              case "viewMilestones":
                  outputs.add(createMilestoneView(MAPPER, foundUser(username)));
                  break;
              case "undoAssignTicket":
-                 unassignTicket(username, commandNode);
+                 unassignTicket(username, targetTicketId);
                  break;
-             case "addComment": {
-                 int ticketID = commandNode.get("ticketID").asInt();
-                 String content = commandNode.get("comment").asText();
-                 addComment(ticketID, content, outputs);
+             case "addComment":
+                 addComment(targetTicketId, commentContent, outputs);
                  break;
-             }
-             case "undoAddComment": {
-                 int ticketID = commandNode.get("ticketID").asInt();
-                 undoaddComment(ticketID, outputs);
+             case "undoAddComment":
+                 undoaddComment(targetTicketId, outputs);
                  break;
-             }
-             case "changeStatus": {
-                 int ticketID = commandNode.get("ticketID").asInt();
-                 changeStatus(username, ticketID, outputs);
+             case "changeStatus":
+                 changeStatus(username, targetTicketId, outputs);
                  break;
-             }
              case "viewNotifications":
                  viewNotifications(outputs);
                  break;
              case "viewTicketHistory":
-                 outputs.add(viewTicketHistory(MAPPER, foundUser(username)));
+                 viewTicketHistory(outputs, foundUser(username));
                  break;
              case "undoChangeStatus":
-                 int ticketID = commandNode.get("ticketID").asInt();
-                 System.out.println("HANDLE: undoChangeStatus for ticket: " + ticketID);
-                 undoChangeStatus(username, ticketID, outputs);
+                 System.out.println("HANDLE: undoChangeStatus for ticket: "
+                         + targetTicketId);
+                 undoChangeStatus(username, targetTicketId, outputs);
                  System.out.println("HANDLE: After undoChangeStatus, error is: " + this.error);
                  break;
              case "search":
+                 if (filters == null) {
+                     ErrLogger.getInstance()
+                             .logException("Failed to parse the filter, none was bound");
+                     break;
+                 }
                  try {
-                     JsonNode filtersNode = commandNode.get("filters");
-                     Filter filter = FilterParser.parseFilter(filtersNode);
-                     searchFilters(outputs, filter);
+                     searchFilters(outputs, filters);
                  } catch (Exception e) {
-                     errorLogger.logException(e, "Failed to parse the filter hahahaha");
+                     ErrLogger.getInstance().logException(e, "Failed to parse the filter hahahaha");
                  }
                  break;
              case "generateCustomerImpactReport":
@@ -1808,16 +1422,6 @@ public class Command {
                  break;
              case "generateResolutionEfficiencyReport":
                  generateResolutionEfficiencyReport(outputs);
-                 List<Ticket> ticks = new ArrayList<>();
-                 for (User usr: errorLogger.getUsers()) {
-                     if (usr.getTickets() != null) {
-                         for (Ticket ticket: usr.getTickets()) {
-                             if (ticket != null) {
-                                 ticks.add(ticket);
-                             }
-                         }
-                     }
-                 }
                  break;
              case "appStabilityReport":
                  appStabilityReport(outputs);
@@ -1832,17 +1436,12 @@ public class Command {
 
     /**
      * createMilestone command helper & wrapper method
-     * @param outputs for the output printing node list
-     * @param commandNode input JSON command deserialized by {@code treetoValue() method}
+     * @param outputs for the output printing sink
      */
-    private void handleCreateMilestone(final List<ObjectNode> outputs,
-                                       final JsonNode commandNode) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        boolean hasError = false;
-
+    private void handleCreateMilestone(final OutputSink outputs) {
         try {
-            Milestone milestone = MAPPER.treeToValue(commandNode, Milestone.class);
-            milestone.initializeTickets(errorLogger.getUsers());
+            Milestone milestone = milestoneParams.toMilestone(context, username, timestamp);
+            milestone.initializeTickets();
             User creator = foundUser(username);
             if (creator != null) {
                 milestone.setCreatedBy(username);
@@ -1859,36 +1458,38 @@ public class Command {
 
             milestone.setStatus(Status.OPEN.name());
             if (milestone.getBlockingFor() != null && milestone.getBlockingFor().length > 0) {
-                List<Milestone> existingMilestones = errorLogger.getMilestones();
-                if (existingMilestones != null) {
-                    for (Milestone existing : existingMilestones) {
-                        for (String blocked : milestone.getBlockingFor()) {
-                            if (existing.getName().equals(blocked)) {
-                                existing.setBlocked(true);
-                            }
-                        }
-
-                        for (int tick: existing.getTickets()) {
-                            for (int mytick: milestone.getTickets()) {
-                                if (tick == mytick) {
-                                    error = "Tickets " + tick + " already assigned to milestone "
-                                            + existing.getName() + ".";
-                                    outputs.add(toObjectNode(MAPPER, null));
-                                    hasError = true;
-                                    break;
-                                }
-                            }
-                            if (hasError) {
-                                break;
-                            }
-                        }
-                        if (hasError) {
-                            break;
+                MilestoneRegistry registry = context.getMilestoneRegistry();
+                Milestone conflicting = null;
+                for (int mytick : milestone.getTickets()) {
+                    Milestone owner = registry.findByTicketId(mytick);
+                    if (owner != null && (conflicting == null
+                            || registry.positionOf(owner) < registry.positionOf(conflicting))) {
+                        conflicting = owner;
+                    }
+                }
+                // milestones created after the conflicting one are left unblocked
+                for (String blocked : milestone.getBlockingFor()) {
+                    for (Milestone existing : registry.findAllByName(blocked)) {
+                        if (conflicting == null
+                                || registry.positionOf(existing)
+                                <= registry.positionOf(conflicting)) {
+                            existing.setBlocked(true);
                         }
                     }
                 }
-                if (hasError) {
-                    return;
+                if (conflicting != null) {
+                    Set<Integer> myTickets = new HashSet<>();
+                    for (int mytick : milestone.getTickets()) {
+                        myTickets.add(mytick);
+                    }
+                    for (int tick : conflicting.getTickets()) {
+                        if (myTickets.contains(tick)) {
+                            error = "Tickets " + tick + " already assigned to milestone "
+                                    + conflicting.getName() + ".";
+                            outputs.add(toObjectNode(MAPPER, null));
+                            return;
+                        }
+                    }
                 }
             }
 
@@ -1900,12 +1501,7 @@ public class Command {
                 }
             }
 
-            List<Milestone> currentMilestones = errorLogger.getMilestones();
-            if (currentMilestones == null) {
-                currentMilestones = new ArrayList<>();
-            }
-            currentMilestones.add(milestone);
-            errorLogger.setMilestones(currentMilestones);
+            context.addMilestone(milestone);
             milestone.updateDailyState(timestamp);
 
         } catch (Exception e) {
@@ -1916,10 +1512,9 @@ public class Command {
 
     /**
      * handleReportTicket command helper & wrapper method
-     * @param outputs for the output printing node list
+     * @param outputs for the output printing sink
      */
-    private void handleReportTicket(final List<ObjectNode> outputs) {
-        ErrLogger errorLogger = ErrLogger.getInstance();
+    private void handleReportTicket(final OutputSink outputs) {
 
         if (ticket != null && ticket.reportedBy == null) {
             ticket.businessPriority = BussinessPriority.LOW;
@@ -1932,7 +1527,7 @@ public class Command {
             return;
         }
 
-        if (errorLogger.getPhase() != PHASE.TESTING) {
+        if (context.getPhase() != PHASE.TESTING) {
             error = "Tickets can only be reported during testing phases.";
             outputs.add(toObjectNode(MAPPER, null));
             ticket = null;
@@ -1948,10 +1543,8 @@ public class Command {
         }
 
         ticket.setStatus(Status.OPEN);
-        if (user.getTickets() == null) {
-            user.setTickets(new ArrayList<>());
-        }
-        user.getTickets().add(ticket);
+        user.addReportedTicket(ticket.getId());
+        context.getTickets().add(ticket);
     }
 }
 
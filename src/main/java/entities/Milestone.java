@@ -1,17 +1,16 @@
 package entities;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import utils.ErrLogger;
+import utils.EngineContext;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -79,6 +78,8 @@ public class Milestone extends Subject {
     private int frozenDaysUntilDue = 0;
     @JsonIgnore
     private int frozenOverdueBy = 0;
+    @JsonIgnore @ToString.Exclude @EqualsAndHashCode.Exclude
+    private EngineContext context;
 
     /**
      * Sets the current status of the milestone.
@@ -90,10 +91,11 @@ public class Milestone extends Subject {
     }
 
     /**
-     * Creates a new Milestone instance from serialized input.
+     * Creates a new Milestone instance from the createMilestone command parameters.
      * This constructor initializes milestone metadata, assigns observers
      * based on the provided developers, establishes blocking relationships,
      * and sets the initial lifecycle state.
+     * @param context the engine execution the milestone belongs to
      * @param username the creator of the milestone
      * @param timestamp creation timestamp in {@code yyyy-MM-dd} format
      * @param name unique milestone name
@@ -102,15 +104,11 @@ public class Milestone extends Subject {
      * @param tickets identifiers of tickets associated with this milestone
      * @param assignedDevs developers assigned to this milestone
      */
-    @JsonCreator
-    public Milestone(@JsonProperty("username") final String username,
-                     @JsonProperty("timestamp") final String timestamp,
-                     @JsonProperty("name") final String name,
-                     @JsonProperty("dueDate") final String dueDate,
-                     @JsonProperty("blockingFor") final String[] blockingFor,
-                     @JsonProperty("tickets") final int[] tickets,
-                     @JsonProperty("assignedDevs") final String[] assignedDevs) {
-        ErrLogger errLogger = ErrLogger.getInstance();
+    public Milestone(final EngineContext context, final String username,
+                     final String timestamp, final String name, final String dueDate,
+                     final String[] blockingFor, final int[] tickets,
+                     final String[] assignedDevs) {
+        this.context = context;
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         this.username = username;
         this.timestamp = timestamp;
@@ -125,40 +123,46 @@ public class Milestone extends Subject {
         this.lastUpdateDate = LocalDate.parse(timestamp, formatter);
         this.status = Status.ACTIVE;
 
-        if (assignedDevs != null && errLogger.getUsers() != null) {
+        if (assignedDevs != null && context.getUsers() != null) {
             for (String dev : assignedDevs) {
-                for (User usr : errLogger.getUsers()) {
-                    if (usr.getUsername().equals(dev)) {
-                        this.addObserver(usr);
-                    }
+                User usr = context.getUser(dev);
+                if (usr != null) {
+                    this.addObserver(usr);
                 }
             }
             notifyObservers("New milestone "
                     + name + " has been created with due date " + dueDate + ".");
         }
 
-        if (blockingFor != null && blockingFor.length > 0
-                && errLogger.getMilestones() != null) {
+        if (blockingFor != null) {
             for (String blockedMilestoneName : blockingFor) {
-                for (Milestone m : errLogger.getMilestones()) {
-                    if (m.getName().equals(blockedMilestoneName)) {
-                        m.setBlockedSilently(true);
-                        break;
-                    }
+                Milestone m = context.getMilestoneRegistry().findByName(blockedMilestoneName);
+                if (m != null) {
+                    m.setBlockedSilently(true);
                 }
             }
         }
     }
 
+    /**
+     * Updates the blocked state of the milestone, reporting the change to the registry
+     * @param blocked whether the milestone is blocked
+     */
+    public void setBlocked(final boolean blocked) {
+        this.isBlocked = blocked;
+        if (context != null) {
+            context.getMilestoneRegistry().blockingChanged(this);
+        }
+    }
+
     /**
      * updates the blocked state of the milestone without notifying observers
      * @param blocked whether the milestone should be marked as blocke
      */
     private void setBlockedSilently(final boolean blocked) {
-        this.isBlocked = blocked;
+        setBlocked(blocked);
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        ErrLogger errLogger = ErrLogger.getInstance();
-        LocalDate currentDate = LocalDate.parse(errLogger.getCurrentDate(), formatter);
+        LocalDate currentDate = LocalDate.parse(context.getCurrentDate(), formatter);
         LocalDate due = LocalDate.parse(dueDate, formatter);
 
         if (blocked && (currentDate.isBefore(due) || currentDate.isEqual(due))) {
@@ -167,29 +171,19 @@ public class Milestone extends Subject {
     }
 
     /**
-     * Resolves ticket identifiers into actual {@link Ticket} instances.
+     * Resolves ticket identifiers into actual {@link Ticket} instances
+     * through the ticket index of the run, unknown ids are skipped
      */
-    public void initializeTickets(final List<User> allUsers) {
+    public void initializeTickets() {
         milestoneTickets.clear();
-        if (allUsers == null || tickets == null) {
+        if (tickets == null) {
             return;
         }
 
         for (int ticketId : tickets) {
-            boolean found = false;
-            for (User user : allUsers) {
-                if (user.getTickets() != null) {
-                    for (Ticket ticket : user.getTickets()) {
-                        if (ticket != null && ticket.getId() == ticketId) {
-                            milestoneTickets.add(ticket);
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (found) {
-                    break;
-                }
+            Ticket ticket = context.getTickets().get(ticketId);
+            if (ticket != null) {
+                milestoneTickets.add(ticket);
             }
         }
     }
@@ -323,15 +317,13 @@ public class Milestone extends Subject {
         }
 
         if (blockingFor != null && blockingFor.length > 0) {
-            ErrLogger errLogger = ErrLogger.getInstance();
-            List<Milestone> allMilestones = errLogger.getMilestones();
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            LocalDate currentDate = LocalDate.parse(errLogger.getCurrentDate(), formatter);
+            LocalDate currentDate = LocalDate.parse(context.getCurrentDate(), formatter);
 
             for (String blockedMilestoneName : blockingFor) {
-                for (Milestone blockedMilestone : allMilestones) {
-                    if (blockedMilestone.getName().equals(blockedMilestoneName)
-                            && blockedMilestone.isBlocked()) {
+                for (Milestone blockedMilestone : context.getMilestoneRegistry()
+                        .findAllByName(blockedMilestoneName)) {
+                    if (blockedMilestone.isBlocked()) {
                         LocalDate blockedDueDate =
                                 LocalDate.parse(blockedMilestone.getDueDate(), formatter);
                         blockedMilestone.setBlockedSilently(false);
@@ -8,13 +8,16 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
-import utils.ErrLogger;
+import utils.EngineContext;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 /**
  *  Abstract base class representing a generic Ticket in the engine
  *  This class serves as the Product in the Factory Method pattern and as
@@ -65,6 +68,8 @@ public abstract class Ticket {
     private List<Comment> comments;
     @JsonProperty("createdAt")
     private String createdAt;
+    @JsonIgnore @ToString.Exclude
+    private long createdEpochDay;
     @Getter @Setter @JsonIgnore
     private int isAssigned;
     @JsonIgnore
@@ -104,17 +109,20 @@ public abstract class Ticket {
      * Updates the ticket status and triggers lifecycle side effects.
      * Records resolution timestamps when the ticket is resolved,
      * Calculates the number of days required to resolve the ticket, and also
-     * unblocks dependent milestones when ticket is closed
+     * unblocks dependent milestones when ticket is closed.
+     * The effects needing the engine context are skipped for a ticket not yet reported
      * @param newStatus the new status to apply
      */
     public void setStatus(final Status newStatus) {
         Status oldStatus = this.status;
         this.status = newStatus;
-        ErrLogger errorLogger = ErrLogger.getInstance();
-        if (newStatus == Status.RESOLVED) {
-            this.solvedAt = errorLogger.getGlobalTimestamp();
+        if (context != null) {
+            context.getTickets().statusChanged(this, oldStatus);
+        }
+        if (newStatus == Status.RESOLVED && context != null) {
+            this.solvedAt = context.getGlobalTimestamp();
             if (this.firstSolvedAt == null) {
-                this.firstSolvedAt = errorLogger.getGlobalTimestamp();
+                this.firstSolvedAt = context.getGlobalTimestamp();
             }
         }
         if (newStatus == Status.RESOLVED || newStatus == Status.CLOSED) {
@@ -130,30 +138,40 @@ public abstract class Ticket {
             }
         }
 
-        if (newStatus == Status.CLOSED && oldStatus != Status.CLOSED) {
-            ErrLogger errLogger = ErrLogger.getInstance();
-            List<Milestone> allMilestones = errLogger.getMilestones();
+        if (newStatus == Status.CLOSED && oldStatus != Status.CLOSED && context != null) {
+            Milestone parentMilestone = context.getMilestoneRegistry().findByTicketId(this.id);
+            if (parentMilestone != null) {
+                parentMilestone.checkAndUnblock(this.id);
+            }
+        }
+    }
 
-            if (allMilestones != null) {
-                Milestone parentMilestone = null;
-                for (Milestone milestone : allMilestones) {
-                    if (milestone.getTickets() != null) {
-                        for (int ticketId : milestone.getTickets()) {
-                            if (ticketId == this.id) {
-                                parentMilestone = milestone;
-                                break;
-                            }
-                        }
-                    }
-                    if (parentMilestone != null) {
-                        break;
-                    }
-                }
+    /**
+     * Sets the creation date, caching it as an epoch day for date comparisons
+     * @param createdAt creation date in {@code yyyy-MM-dd} format
+     */
+    public void setCreatedAt(final String createdAt) {
+        this.createdAt = createdAt;
+        this.createdEpochDay = LocalDate.parse(createdAt).toEpochDay();
+    }
 
-                if (parentMilestone != null) {
-                    parentMilestone.checkAndUnblock(this.id);
-                }
-            }
+    /**
+     * Order of the tickets in the views: creation date, then id
+     * @return the comparator
+     */
+    public static Comparator<Ticket> getViewComparator() {
+        return Comparator.comparing(Ticket::getCreatedAt).thenComparingInt(Ticket::getId);
+    }
+
+    /**
+     * Updates the business priority of the ticket, keeping the priority index in sync
+     * @param newPriority the new priority to apply
+     */
+    public void setBusinessPriority(final BussinessPriority newPriority) {
+        BussinessPriority oldPriority = this.businessPriority;
+        this.businessPriority = newPriority;
+        if (context != null) {
+            context.getTickets().priorityChanged(this, oldPriority);
         }
     }
 
@@ -229,6 +247,12 @@ public abstract class Ticket {
     @JsonIgnore
     private List<TicketAction> history = new ArrayList<>();
 
+    /**
+     * Engine execution the ticket belongs to, set when the ticket is reported
+     */
+    @JsonIgnore @ToString.Exclude
+    private EngineContext context;
+
     /**
      * @param action the ticket action to record
      */
@@ -237,6 +261,9 @@ public abstract class Ticket {
             this.history = new ArrayList<>();
         }
         this.history.add(action);
+        if (context != null) {
+            context.getTickets().actionRecorded(this, action);
+        }
     }
     /**
      * @return list of ticket actions
@@ -256,9 +283,17 @@ public abstract class Ticket {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         LocalDate cutoffDate = LocalDate.parse(timestamp, formatter);
 
+        Set<String> removedActors = new HashSet<>();
         history.removeIf(action -> {
             LocalDate actionDate = LocalDate.parse(action.getTimestamp(), formatter);
-            return actionDate.isAfter(cutoffDate);
+            boolean removed = actionDate.isAfter(cutoffDate);
+            if (removed && action.getBy() != null) {
+                removedActors.add(action.getBy());
+            }
+            return removed;
         });
+        if (context != null && !removedActors.isEmpty()) {
+            context.getTickets().historyTruncated(this, removedActors);
+        }
     }
 }
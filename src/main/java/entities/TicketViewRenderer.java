@@ -0,0 +1,172 @@
+package entities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Renders the ticket related views straight to a {@link JsonGenerator}.
+ * Field names, order and empty-value conventions are the same as the ones of the
+ * {@code ObjectNode} trees previously built by {@link Command}, but no intermediate
+ * tree (nor {@code valueToTree} conversion) is allocated per ticket, comment or action
+ */
+public final class TicketViewRenderer {
+    private TicketViewRenderer() {
+    }
+
+    /**
+     * Writes the command, username and timestamp fields opening every view
+     * @param generator the generator, positioned inside the result object
+     * @param command the command whose result is rendered
+     */
+    public static void writeHeader(final JsonGenerator generator,
+                                   final Command command) throws IOException {
+        generator.writeStringField("command", command.getCommand());
+        generator.writeStringField("username", command.getUsername());
+        generator.writeStringField("timestamp", command.getTimestamp());
+    }
+
+    /**
+     * Ticket entry of the viewTickets command
+     */
+    public static void writeTicket(final JsonGenerator generator,
+                                   final Ticket ticket) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", ticket.getId());
+        generator.writeStringField("type", ticket.getType());
+        generator.writeStringField("title", ticket.getTitle());
+        generator.writeStringField("businessPriority", ticket.getBusinessPriority().name());
+        generator.writeStringField("status", ticket.getStatus().name());
+        generator.writeStringField("createdAt", ticket.getCreatedAt());
+        generator.writeStringField("assignedAt", orEmpty(ticket.getAssignedAt()));
+        generator.writeStringField("solvedAt", orEmpty(ticket.getSolvedAt()));
+        generator.writeStringField("assignedTo", orEmpty(ticket.getAssignedTo()));
+        generator.writeStringField("reportedBy", ticket.getReportedBy());
+        generator.writeArrayFieldStart("comments");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Ticket entry of the viewAssignedTickets command
+     */
+    public static void writeAssignedTicket(final JsonGenerator generator,
+                                           final Ticket ticket) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", ticket.getId());
+        generator.writeStringField("type", ticket.getType());
+        generator.writeStringField("title", ticket.getTitle());
+        generator.writeStringField("businessPriority", ticket.getBusinessPriority().name());
+        generator.writeStringField("status", ticket.getStatus().name());
+        generator.writeStringField("createdAt", ticket.getCreatedAt());
+        if (ticket.getAssignedAt() != null && !ticket.getAssignedAt().isEmpty()) {
+            generator.writeStringField("assignedAt", ticket.getAssignedAt());
+        }
+        generator.writeStringField("reportedBy", ticket.getReportedBy());
+        writeComments(generator, ticket.getComments());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Ticket entry of the viewTicketHistory command, with its actions and comments
+     */
+    public static void writeTicketHistory(final JsonGenerator generator,
+                                          final Ticket ticket) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", ticket.getId());
+        generator.writeStringField("title", ticket.getTitle());
+        generator.writeStringField("status", ticket.getStatus().name());
+        generator.writeArrayFieldStart("actions");
+        for (TicketAction action : ticket.getHistory()) {
+            writeAction(generator, action);
+        }
+        generator.writeEndArray();
+        writeComments(generator, ticket.getComments());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Ticket entry of the search command
+     * @param matchingWords the sorted matching keywords, {@code null} to omit the field
+     */
+    public static void writeSearchResult(final JsonGenerator generator, final Ticket ticket,
+                                         final List<String> matchingWords) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", ticket.getId());
+        generator.writeStringField("type", ticket.getType());
+        generator.writeStringField("title", ticket.getTitle());
+        generator.writeStringField("businessPriority", ticket.getBusinessPriority().toString());
+        generator.writeStringField("status", ticket.getStatus().toString());
+        generator.writeStringField("createdAt", ticket.getCreatedAt());
+        generator.writeStringField("solvedAt", orEmpty(ticket.getSolvedAt()));
+        generator.writeStringField("reportedBy", ticket.getReportedBy());
+        if (matchingWords != null) {
+            generator.writeArrayFieldStart("matchingWords");
+            for (String word : matchingWords) {
+                generator.writeString(word);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Developer entry of the search command
+     */
+    public static void writeDeveloperResult(final JsonGenerator generator,
+                                            final User user) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("username", user.getUsername());
+        generator.writeStringField("expertiseArea", user.getExpertiseArea().toString());
+        generator.writeStringField("seniority", user.getSeniority().toString());
+        generator.writeNumberField("performanceScore", user.getPerformanceScore());
+        generator.writeStringField("hireDate", user.getHireDate());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@code comments} array field, always present even if empty
+     */
+    private static void writeComments(final JsonGenerator generator,
+                                      final List<Comment> comments) throws IOException {
+        generator.writeArrayFieldStart("comments");
+        if (comments != null) {
+            for (Comment comment : comments) {
+                generator.writeStartObject();
+                generator.writeStringField("author", comment.getAuthor());
+                generator.writeStringField("content", comment.getContent());
+                generator.writeStringField("createdAt", comment.getCreatedAt());
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Same layout as the Jackson serialization of {@link TicketAction}: non-null
+     * fields only, in milestone, from, to, by, timestamp, action order
+     */
+    private static void writeAction(final JsonGenerator generator,
+                                    final TicketAction action) throws IOException {
+        generator.writeStartObject();
+        writeIfPresent(generator, "milestone", action.getMilestone());
+        writeIfPresent(generator, "from", action.getFrom());
+        writeIfPresent(generator, "to", action.getTo());
+        writeIfPresent(generator, "by", action.getBy());
+        writeIfPresent(generator, "timestamp", action.getTimestamp());
+        writeIfPresent(generator, "action", action.getAction());
+        generator.writeEndObject();
+    }
+
+    private static void writeIfPresent(final JsonGenerator generator, final String field,
+                                       final String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static String orEmpty(final String value) {
+        return value != null ? value : "";
+    }
+}
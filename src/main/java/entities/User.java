@@ -6,6 +6,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -40,8 +41,8 @@ public final class User implements Observer {
     private Seniority seniority;
     @Getter @Setter
     private String[] subordinates;
-    @Getter @Setter
-    private List<Ticket> tickets;
+    @Getter
+    private final BitSet reportedTicketIds = new BitSet();
     @Getter @Setter
     private List<Ticket> assignedTickets;
     @Getter @Setter
@@ -57,6 +58,15 @@ public final class User implements Observer {
         notifications.add(message);
     }
 
+    /**
+     * Keeps a reference to a ticket reported by the user, the ticket itself is owned
+     * by the ticket store of the run
+     * @param ticketId the id of the reported ticket
+     */
+    public void addReportedTicket(final int ticketId) {
+        reportedTicketIds.set(ticketId);
+    }
+
     /**
      * Clears all stored notification messages
      */
@@ -0,0 +1,22 @@
+package entities.filters;
+
+import java.util.BitSet;
+
+/**
+ * Entities addressed by dense integer ids, over which a {@link Specification} is evaluated
+ * into the set of the ids of the matching entities
+ * @param <T> the type of the entities
+ */
+public interface BitmapSource<T> {
+
+    /**
+     * @return the ids of every entity of the source, as a modifiable copy
+     */
+    BitSet allIds();
+
+    /**
+     * @param id the id of an entity
+     * @return the entity, or {@code null} if no entity has this id
+     */
+    T get(int id);
+}
@@ -3,11 +3,13 @@ package entities.filters;
 import entities.BussinessPriority;
 import entities.Ticket;
 
+import java.util.BitSet;
+
 /**
  * Concrete specification for filtering tickets by their bussiness priority.
  * Implements the Specification pattern for ticket bussiness priority filtering criteria.
  */
-public class BusinessPriorityFilter implements Specification<Ticket> {
+public class BusinessPriorityFilter implements IndexedTicketFilter {
     private BussinessPriority bussinessPriority;
 
     public BusinessPriorityFilter(final String bussinessPriority) {
@@ -24,4 +26,13 @@ public class BusinessPriorityFilter implements Specification<Ticket> {
     public boolean isSatisfiedBy(final Ticket ticket) {
         return ticket.getBusinessPriority().toString().equals(bussinessPriority.toString());
     }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets having the filter bussiness priority
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsWithPriority(bussinessPriority);
+    }
 }
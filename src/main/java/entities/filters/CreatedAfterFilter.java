@@ -2,17 +2,18 @@ package entities.filters;
 
 import entities.Ticket;
 import java.time.LocalDate;
+import java.util.BitSet;
 
 /**
  * Concrete specification for filtering tickets by their creation date.
  * Implements the Specification pattern for ticket creation date filtering criteria.
  */
-public class CreatedAfterFilter implements Specification<Ticket> {
+public class CreatedAfterFilter implements IndexedTicketFilter {
 
-    private final LocalDate referenceDate;
+    private final long referenceDay;
 
     public CreatedAfterFilter(final String date) {
-        this.referenceDate = LocalDate.parse(date);
+        this.referenceDay = LocalDate.parse(date).toEpochDay();
     }
 
     /**
@@ -22,7 +23,15 @@ public class CreatedAfterFilter implements Specification<Ticket> {
      */
     @Override
     public boolean isSatisfiedBy(final Ticket ticket) {
-        LocalDate ticketDate = LocalDate.parse(ticket.getCreatedAt());
-        return ticketDate.isAfter(referenceDate);
+        return ticket.getCreatedEpochDay() > referenceDay;
+    }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets created after the filter creation date
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsCreatedBetween(referenceDay + 1, Long.MAX_VALUE);
     }
 }
@@ -3,17 +3,18 @@ package entities.filters;
 import entities.Ticket;
 
 import java.time.LocalDate;
+import java.util.BitSet;
 
 /**
  * Concrete specification for filtering tickets by their creation date.
  * Implements the Specification pattern for ticket creation date filtering criteria.
  */
-public class CreatedAtFilter implements Specification<Ticket> {
+public class CreatedAtFilter implements IndexedTicketFilter {
 
-    private final LocalDate referenceDate;
+    private final long referenceDay;
 
     public CreatedAtFilter(final String date) {
-        this.referenceDate = LocalDate.parse(date);
+        this.referenceDay = LocalDate.parse(date).toEpochDay();
     }
 
     /**
@@ -23,7 +24,15 @@ public class CreatedAtFilter implements Specification<Ticket> {
      */
     @Override
     public boolean isSatisfiedBy(final Ticket ticket) {
-        LocalDate ticketDate = LocalDate.parse(ticket.getCreatedAt());
-        return ticketDate.isEqual(referenceDate);
+        return ticket.getCreatedEpochDay() == referenceDay;
+    }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets created on the filter creation date
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsCreatedBetween(referenceDay, referenceDay);
     }
 }
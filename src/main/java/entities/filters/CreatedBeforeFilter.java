@@ -2,16 +2,17 @@ package entities.filters;
 
 import entities.Ticket;
 import java.time.LocalDate;
+import java.util.BitSet;
 
 /**
  * Concrete specification for filtering tickets by their creation date.
  * Implements the Specification pattern for ticket creation date filtering criteria.
  */
-public class CreatedBeforeFilter implements Specification<Ticket> {
+public class CreatedBeforeFilter implements IndexedTicketFilter {
 
-    private final LocalDate referenceDate;
+    private final long referenceDay;
     public CreatedBeforeFilter(final String date) {
-        this.referenceDate = LocalDate.parse(date);
+        this.referenceDay = LocalDate.parse(date).toEpochDay();
     }
 
     /**
@@ -21,7 +22,15 @@ public class CreatedBeforeFilter implements Specification<Ticket> {
      */
     @Override
     public boolean isSatisfiedBy(final Ticket ticket) {
-        LocalDate ticketDate = LocalDate.parse(ticket.getCreatedAt());
-        return ticketDate.isBefore(referenceDate);
+        return ticket.getCreatedEpochDay() < referenceDay;
+    }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets created before the filter creation date
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsCreatedBetween(Long.MIN_VALUE, referenceDay - 1);
     }
 }
@@ -3,9 +3,11 @@ package entities.filters;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import entities.BussinessPriority;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -191,4 +193,62 @@ public class Filter {
         return keywords != null ? Arrays.asList(keywords) : List.of();
     }
 
+    /**
+     * Resolves the businessPriority filter, case insensitively.
+     * An unknown priority selects nothing more than no priority, so it is ignored
+     * @return the priority, or {@code null} if not specified or unknown
+     */
+    public BussinessPriority resolveBusinessPriority() {
+        if (!hasBusinessPriority()) {
+            return null;
+        }
+        try {
+            return BussinessPriority.valueOf(businessPriority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a canonical form of the ticket criteria, equal for filters selecting the same
+     * tickets: an unknown business priority is dropped, the creation dates become one
+     * epoch day range. The keywords are kept as given, in order and with their duplicates,
+     * since the matching words reported for a search follow them
+     * @return the canonical criteria, usable as a cache key
+     */
+    public String ticketSearchKey() {
+        StringBuilder key = new StringBuilder();
+        BussinessPriority priority = resolveBusinessPriority();
+        if (priority != null) {
+            key.append("priority=").append(priority);
+        }
+        if (hasType()) {
+            key.append(";type=").append(type);
+        }
+        if (hasCreatedAt() || hasCreatedBefore() || hasCreatedAfter()) {
+            long fromDay = Long.MIN_VALUE;
+            long toDay = Long.MAX_VALUE;
+            if (hasCreatedAt()) {
+                fromDay = LocalDate.parse(createdAt).toEpochDay();
+                toDay = fromDay;
+            }
+            if (hasCreatedBefore()) {
+                toDay = Math.min(toDay, LocalDate.parse(createdBefore).toEpochDay() - 1);
+            }
+            if (hasCreatedAfter()) {
+                fromDay = Math.max(fromDay, LocalDate.parse(createdAfter).toEpochDay() + 1);
+            }
+            key.append(";created=").append(fromDay).append("..").append(toDay);
+        }
+        if (hasKeywords()) {
+            key.append(";keywords=");
+            for (String keyword : getKeywordsList()) {
+                key.append(keyword.length()).append(':').append(keyword);
+            }
+        }
+        if (hasAvailableForAssignment() && availableForAssignment) {
+            key.append(";availableForAssignment");
+        }
+        return key.toString();
+    }
 }
@@ -0,0 +1,36 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.BitSet;
+
+/**
+ * Ticket specification backed by an index: evaluated over {@link TicketBitmaps}, it
+ * resolves to the id set of the index instead of testing the tickets one by one.
+ * Over any other source it falls back to testing them
+ */
+public interface IndexedTicketFilter extends Specification<Ticket> {
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of every ticket satisfying the specification, as a modifiable set
+     */
+    BitSet lookup(TicketBitmaps bitmaps);
+
+    @Override
+    default BitSet matchingIds(final BitmapSource<Ticket> source) {
+        if (source instanceof TicketBitmaps bitmaps) {
+            return lookup(bitmaps);
+        }
+        return Specification.super.matchingIds(source);
+    }
+
+    @Override
+    default BitSet filterIds(final BitmapSource<Ticket> source, final BitSet candidateIds) {
+        if (source instanceof TicketBitmaps bitmaps) {
+            candidateIds.and(lookup(bitmaps));
+            return candidateIds;
+        }
+        return Specification.super.filterIds(source, candidateIds);
+    }
+}
@@ -2,11 +2,13 @@ package entities.filters;
 
 import entities.Ticket;
 
+import java.util.BitSet;
+
 /**
  * Concrete specification for filtering tickets by a keyword.
  * Implements the Specification pattern for ticket containing keyword filtering criteria.
  */
-public class KeywordFilter implements Specification<Ticket> {
+public class KeywordFilter implements IndexedTicketFilter {
     private final String wordToFind;
 
     public KeywordFilter(final String wordToFind) {
@@ -31,4 +33,13 @@ public class KeywordFilter implements Specification<Ticket> {
         }
         return false;
     }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets whose title or description contains the keyword
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsContaining(wordToFind);
+    }
 }
@@ -0,0 +1,164 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Page of a ticket listing in view order, creation date then id, as requested through the
+ * optional {@code limit} and {@code cursor} inputs of a command.
+ * A cursor names the view order key of the last ticket of the previous page, and a page
+ * holds the tickets strictly after it. Since that key never changes, a cursor stays valid
+ * and stable when tickets are reported or modified between two calls.
+ * Pages are selected without sorting the whole listing: a listing in view order is cut by
+ * binary search, tickets visited in view order are taken until the page is full, and any
+ * other listing goes through a heap bounded by the page size
+ */
+public final class PageRequest {
+    private static final String SEPARATOR = ":";
+    private static final Comparator<Ticket> PAGE_ORDER = Comparator
+            .comparingLong(Ticket::getCreatedEpochDay).thenComparingInt(Ticket::getId);
+
+    private final int limit;
+    private final long afterDay;
+    private final int afterId;
+    private final boolean first;
+
+    private PageRequest(final int limit, final long afterDay, final int afterId,
+                        final boolean first) {
+        this.limit = limit;
+        this.afterDay = afterDay;
+        this.afterId = afterId;
+        this.first = first;
+    }
+
+    /**
+     * Parses the paging inputs of a command
+     * @param limit the maximum number of tickets of the page, {@code null} for no limit
+     * @param cursor the cursor returned with the previous page, {@code null} for the first
+     * @return the page, or {@code null} if the listing is not paginated
+     * @throws IllegalArgumentException if the limit is not positive or the cursor is not
+     *         one returned by a previous page
+     */
+    public static PageRequest of(final Integer limit, final String cursor) {
+        if (limit == null && cursor == null) {
+            return null;
+        }
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("The limit must be positive.");
+        }
+        int pageSize = limit == null ? Integer.MAX_VALUE - 1 : limit;
+        if (cursor == null) {
+            return new PageRequest(pageSize, 0, 0, true);
+        }
+        String[] parts = cursor.split(SEPARATOR, -1);
+        try {
+            if (parts.length == 2) {
+                return new PageRequest(pageSize, Long.parseLong(parts[0]),
+                        Integer.parseInt(parts[1]), false);
+            }
+        } catch (NumberFormatException e) {
+        }
+        throw new IllegalArgumentException("Invalid cursor " + cursor + ".");
+    }
+
+    /**
+     * @param ticket a ticket of the listing
+     * @return the cursor of the page following the ticket
+     */
+    public static String cursorAfter(final Ticket ticket) {
+        return ticket.getCreatedEpochDay() + SEPARATOR + ticket.getId();
+    }
+
+    /**
+     * @param ticket a ticket of the listing
+     * @return whether the ticket comes after the cursor in view order
+     */
+    public boolean isAfterCursor(final Ticket ticket) {
+        if (first) {
+            return true;
+        }
+        long day = ticket.getCreatedEpochDay();
+        return day > afterDay || (day == afterDay && ticket.getId() > afterId);
+    }
+
+    /**
+     * Cuts the page out of a listing already in view order
+     * @param ordered the listing, by creation date then id
+     * @return the page
+     */
+    public TicketPage select(final List<Ticket> ordered) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAfterCursor(ordered.get(middle))) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int end = (int) Math.min(ordered.size(), (long) low + limit);
+        return page(ordered.subList(low, end), end < ordered.size());
+    }
+
+    /**
+     * Selects the page among a set of tickets
+     * @param source the tickets, by id
+     * @param ticketIds the ids of the listed tickets, those of no ticket are skipped
+     * @param idsInViewOrder whether id order is also view order, so that the tickets can be
+     *                       visited in id order, stopping once the page is full
+     * @param filter the specification the listed tickets must also satisfy, tested only on
+     *               the tickets after the cursor
+     * @return the page
+     */
+    public TicketPage select(final BitmapSource<Ticket> source, final BitSet ticketIds,
+                             final boolean idsInViewOrder, final Specification<Ticket> filter) {
+        if (idsInViewOrder) {
+            List<Ticket> taken = new ArrayList<>();
+            int start = first ? 0 : afterId + 1;
+            for (int id = ticketIds.nextSetBit(start); id >= 0 && taken.size() <= limit;
+                 id = ticketIds.nextSetBit(id + 1)) {
+                Ticket ticket = source.get(id);
+                if (ticket != null && isAfterCursor(ticket) && filter.isSatisfiedBy(ticket)) {
+                    taken.add(ticket);
+                }
+            }
+            boolean more = taken.size() > limit;
+            return page(more ? taken.subList(0, limit) : taken, more);
+        }
+
+        // keeps the limit + 1 first tickets, the extra one telling whether a page follows
+        PriorityQueue<Ticket> best = new PriorityQueue<>(PAGE_ORDER.reversed());
+        for (int id = ticketIds.nextSetBit(0); id >= 0; id = ticketIds.nextSetBit(id + 1)) {
+            Ticket ticket = source.get(id);
+            if (ticket == null || !isAfterCursor(ticket)) {
+                continue;
+            }
+            if (best.size() > limit && PAGE_ORDER.compare(ticket, best.peek()) > 0) {
+                continue;
+            }
+            if (filter.isSatisfiedBy(ticket)) {
+                best.add(ticket);
+                if (best.size() > limit + 1) {
+                    best.poll();
+                }
+            }
+        }
+        List<Ticket> taken = new ArrayList<>(best);
+        taken.sort(PAGE_ORDER);
+        boolean more = taken.size() > limit;
+        return page(more ? taken.subList(0, limit) : taken, more);
+    }
+
+    private static TicketPage page(final List<Ticket> tickets, final boolean more) {
+        String nextCursor = more ? cursorAfter(tickets.get(tickets.size() - 1)) : null;
+        return new TicketPage(Collections.unmodifiableList(new ArrayList<>(tickets)),
+                nextCursor);
+    }
+}
@@ -0,0 +1,232 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Execution plan of a ticket search, as built by {@link QueryPlanner}.
+ * The candidates start as the ids of the tickets visible to the searching user. They are
+ * narrowed by intersecting the id sets of the index steps, the most selective one driving,
+ * then resolved in view order and tested against the residual steps, cheapest and most
+ * selective first. Every step keeps its estimates and, once the plan is executed, the
+ * number of tickets left after it, so that {@link #explain()} shows why a search was slow.
+ * When a single page is wanted, the residual steps only see the tickets the page
+ * selection visits, and their counts are those of the visited tickets
+ */
+public final class QueryPlan {
+    private final TicketBitmaps bitmaps;
+    private final BitSet candidateIds;
+    private final int visibleCount;
+    private final List<Step> indexSteps;
+    private final List<Step> residualSteps;
+
+    QueryPlan(final TicketBitmaps bitmaps, final BitSet candidateIds,
+              final List<Step> indexSteps, final List<Step> residualSteps) {
+        this.bitmaps = bitmaps;
+        this.candidateIds = candidateIds;
+        this.visibleCount = candidateIds.cardinality();
+        this.indexSteps = indexSteps;
+        this.residualSteps = residualSteps;
+    }
+
+    /**
+     * Runs the plan; a plan is built for a single execution
+     * @return the matching tickets, in view order
+     */
+    public List<Ticket> execute() {
+        intersectIndexSteps();
+        List<Ticket> matching = bitmaps.resolveInViewOrder(candidateIds);
+        for (Step step : residualSteps) {
+            if (matching.isEmpty()) {
+                break;
+            }
+            matching.removeIf(ticket -> !step.predicate.isSatisfiedBy(ticket));
+            step.actualRows = matching.size();
+        }
+        return matching;
+    }
+
+    /**
+     * Runs the plan for a single page of the results, testing the residual steps only on
+     * the tickets the page selection visits; a plan is built for a single execution
+     * @param page the wanted page
+     * @return the page of the matching tickets
+     */
+    public TicketPage execute(final PageRequest page) {
+        intersectIndexSteps();
+        for (Step step : residualSteps) {
+            step.actualRows = 0;
+        }
+        return page.select(bitmaps, candidateIds, bitmaps.isChronological(),
+                this::satisfiesResidualSteps);
+    }
+
+    /**
+     * Narrows the candidates by the index steps, stopping once none is left
+     */
+    private void intersectIndexSteps() {
+        for (Step step : indexSteps) {
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            candidateIds.and(step.lookup.get());
+            step.actualRows = candidateIds.cardinality();
+        }
+    }
+
+    /**
+     * Tests a ticket against the residual steps in order, counting the tickets each lets
+     * through
+     */
+    private boolean satisfiesResidualSteps(final Ticket ticket) {
+        for (Step step : residualSteps) {
+            if (!step.predicate.isSatisfiedBy(ticket)) {
+                return false;
+            }
+            step.actualRows++;
+        }
+        return true;
+    }
+
+    /**
+     * @return the index steps, in intersection order, the first one driving
+     */
+    public List<Step> getIndexSteps() {
+        return Collections.unmodifiableList(indexSteps);
+    }
+
+    /**
+     * @return the residual steps, in evaluation order
+     */
+    public List<Step> getResidualSteps() {
+        return Collections.unmodifiableList(residualSteps);
+    }
+
+    /**
+     * Describes the plan, one line per step, with its estimates and, once executed,
+     * the number of tickets it let through; steps never reached are marked as skipped
+     * @return the description of the plan
+     */
+    public String explain() {
+        StringBuilder description = new StringBuilder();
+        description.append("visible tickets: ").append(visibleCount).append('\n');
+        for (Step step : indexSteps) {
+            description.append(step.explain(indexSteps.get(0) == step ? "drive" : "intersect"))
+                    .append('\n');
+        }
+        for (Step step : residualSteps) {
+            description.append(step.explain("filter")).append('\n');
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+    /**
+     * A leaf of a search: its predicate, with the id set of the index backing it if any,
+     * and the estimates the planner orders it by. Costs are in abstract units, one being
+     * the comparison of two scalars
+     */
+    public static final class Step {
+        /* Defaults for predicates the planner knows nothing about */
+        public static final double OPAQUE_COST = 16.0;
+        public static final double OPAQUE_SELECTIVITY = 0.5;
+
+        private final String description;
+        private final Specification<Ticket> predicate;
+        private final double evaluationCost;
+        private final double selectivity;
+        private final Supplier<BitSet> lookup;
+        private final double lookupCost;
+        private double estimatedRows;
+        private int actualRows = -1;
+
+        Step(final String description, final Specification<Ticket> predicate,
+             final double evaluationCost, final double selectivity,
+             final Supplier<BitSet> lookup, final double lookupCost) {
+            this.description = description;
+            this.predicate = predicate;
+            this.evaluationCost = evaluationCost;
+            this.selectivity = selectivity;
+            this.lookup = lookup;
+            this.lookupCost = lookupCost;
+        }
+
+        /**
+         * Creates a step backed by no index, of unknown cost and selectivity,
+         * such as a check calling back into the engine
+         * @param description the name of the step, as shown by {@link #explain()}
+         * @param predicate the predicate tested against every remaining ticket
+         * @return the step, to be handed to {@link QueryPlanner}
+         */
+        public static Step residual(final String description,
+                                    final Specification<Ticket> predicate) {
+            return new Step(description, predicate, OPAQUE_COST, OPAQUE_SELECTIVITY, null, 0);
+        }
+
+        /**
+         * @return whether an index can produce the ids matching the step
+         */
+        public boolean isIndexed() {
+            return lookup != null;
+        }
+
+        /**
+         * Ranks the steps evaluated per ticket: the cost paid per ticket it rejects
+         */
+        double rank() {
+            return selectivity >= 1 ? Double.POSITIVE_INFINITY
+                    : evaluationCost / (1 - selectivity);
+        }
+
+        double getEvaluationCost() {
+            return evaluationCost;
+        }
+
+        double getSelectivity() {
+            return selectivity;
+        }
+
+        double getLookupCost() {
+            return lookupCost;
+        }
+
+        void setEstimatedRows(final double rows) {
+            this.estimatedRows = rows;
+        }
+
+        /**
+         * @return the name of the step
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return the number of tickets left after the step, {@code -1} if not executed
+         */
+        public int getActualRows() {
+            return actualRows;
+        }
+
+        /**
+         * Describes the step, as run by the given operation
+         */
+        private String explain(final String operation) {
+            String actual = actualRows < 0 ? "skipped" : Integer.toString(actualRows);
+            return String.format(Locale.ROOT,
+                    "%-9s %s (cost %.1f, selectivity %.3f, rows %.1f estimated, %s actual)",
+                    operation, description, isIndexed() && !"filter".equals(operation)
+                            ? lookupCost : evaluationCost,
+                    selectivity, estimatedRows, actual);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package entities.filters;
+
+import entities.BussinessPriority;
+import entities.Ticket;
+import utils.KeywordIndex;
+import utils.TicketIndex;
+import utils.TicketStore;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cost-based planner turning the ticket criteria of a {@link Filter} into a
+ * {@link QueryPlan}. Every criterion becomes a step, with a selectivity estimated from the
+ * index statistics: the creation dates, business priority and type from the
+ * {@link TicketIndex}, the keywords from a fixed guess since their postings are only known
+ * once looked up in the {@link KeywordIndex}.
+ * The most selective indexed step drives the candidates. Every other indexed step is
+ * intersected only when its lookup is cheaper than testing it on the estimated remaining
+ * candidates, and is otherwise tested per ticket along with the steps backed by no index,
+ * ordered by their cost per rejected ticket. Criteria are assumed independent.
+ * The id sets of the indexed steps and of the visible tickets are evaluated through the
+ * bitmap algebra of {@link Specification#matchingIds(BitmapSource)}
+ */
+public final class QueryPlanner {
+    /* Evaluation cost of the leaves, per ticket */
+    private static final double DATE_COST = 1.0;
+    private static final double PRIORITY_COST = 2.0;
+    private static final double TYPE_COST = 2.0;
+    private static final double KEYWORD_COST = 32.0;
+    /* Fraction of the tickets a single keyword is assumed to match */
+    private static final double KEYWORD_SELECTIVITY = 0.1;
+
+    private final TicketStore store;
+    private final TicketIndex ticketIndex;
+    private final KeywordIndex keywordIndex;
+    private final TicketBitmaps bitmaps;
+
+    /**
+     * Creates the planner of the searches over a store
+     * @param store the store owning the searched tickets
+     * @param ticketIndex the indexes over its ticket attributes
+     * @param keywordIndex the index over its ticket texts
+     * @param bitmaps the tickets of the store and the id sets of its indexes
+     */
+    public QueryPlanner(final TicketStore store, final TicketIndex ticketIndex,
+                        final KeywordIndex keywordIndex, final TicketBitmaps bitmaps) {
+        this.store = store;
+        this.ticketIndex = ticketIndex;
+        this.keywordIndex = keywordIndex;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Plans a ticket search
+     * @param filter the search filter, only its ticket criteria are planned
+     * @param visibility the tickets visible to the searching user
+     * @param residual the steps backed by no index the results must also satisfy
+     * @return the plan, ready to be executed
+     */
+    public QueryPlan plan(final Filter filter, final Specification<Ticket> visibility,
+                          final List<QueryPlan.Step> residual) {
+        BitSet visibleIds = visibility.matchingIds(bitmaps);
+        List<QueryPlan.Step> indexed = new ArrayList<>();
+        List<QueryPlan.Step> residualSteps = new ArrayList<>(residual);
+        for (QueryPlan.Step step : leaves(filter)) {
+            (step.isIndexed() ? indexed : residualSteps).add(step);
+        }
+        indexed.sort(Comparator.comparingDouble(QueryPlan.Step::getSelectivity));
+
+        double rows = visibleIds.cardinality();
+        double intersectionCost = wordCount();
+        List<QueryPlan.Step> indexSteps = new ArrayList<>();
+        for (QueryPlan.Step step : indexed) {
+            if (indexSteps.isEmpty() || step.getLookupCost() + intersectionCost
+                    < rows * step.getEvaluationCost()) {
+                rows *= step.getSelectivity();
+                step.setEstimatedRows(rows);
+                indexSteps.add(step);
+            } else {
+                residualSteps.add(step);
+            }
+        }
+        residualSteps.sort(Comparator.comparingDouble(QueryPlan.Step::rank));
+        for (QueryPlan.Step step : residualSteps) {
+            rows *= step.getSelectivity();
+            step.setEstimatedRows(rows);
+        }
+        return new QueryPlan(bitmaps, visibleIds, indexSteps, residualSteps);
+    }
+
+    /**
+     * Builds one step per ticket criterion of the filter, the creation dates forming a
+     * single range; an unknown business priority is ignored
+     */
+    private List<QueryPlan.Step> leaves(final Filter filter) {
+        List<QueryPlan.Step> leaves = new ArrayList<>();
+        double words = wordCount();
+
+        if (filter.hasCreatedAt() || filter.hasCreatedBefore() || filter.hasCreatedAfter()) {
+            leaves.add(createdWithin(filter, words));
+        }
+
+        BussinessPriority priority = filter.resolveBusinessPriority();
+        if (priority != null) {
+            leaves.add(indexed("businessPriority=" + priority,
+                    new BusinessPriorityFilter(priority.toString()), PRIORITY_COST,
+                    fraction(ticketIndex.countWithPriority(priority)), words));
+        }
+
+        if (filter.hasType()) {
+            String type = filter.getType();
+            leaves.add(indexed("type=" + type, new TypeFilter(type), TYPE_COST,
+                    fraction(ticketIndex.countWithType(type)), words));
+        }
+
+        if (filter.hasKeywords()) {
+            List<String> keywords = filter.getKeywordsList();
+            Specification<Ticket> anyKeyword = null;
+            for (String keyword : keywords) {
+                KeywordFilter keywordFilter = new KeywordFilter(keyword);
+                anyKeyword = (anyKeyword == null)
+                        ? keywordFilter : anyKeyword.or(keywordFilter);
+            }
+            leaves.add(indexed("keywords=" + keywords, anyKeyword,
+                    KEYWORD_COST * keywords.size(),
+                    Math.min(1, KEYWORD_SELECTIVITY * keywords.size()),
+                    (double) keywordIndex.vocabularySize() * keywords.size()));
+        }
+        return leaves;
+    }
+
+    /**
+     * Builds a step whose ids are those its predicate matches over the bitmaps
+     */
+    private QueryPlan.Step indexed(final String description,
+                                   final Specification<Ticket> predicate,
+                                   final double evaluationCost, final double selectivity,
+                                   final double lookupCost) {
+        return new QueryPlan.Step(description, predicate, evaluationCost, selectivity,
+                () -> predicate.matchingIds(bitmaps), lookupCost);
+    }
+
+    /**
+     * Builds the step of the creation date criteria, resolved as one slice of the
+     * creation date index
+     */
+    private QueryPlan.Step createdWithin(final Filter filter, final double words) {
+        long fromDay = Long.MIN_VALUE;
+        long toDay = Long.MAX_VALUE;
+        Specification<Ticket> dates = null;
+        int criteria = 0;
+        StringBuilder description = new StringBuilder();
+        if (filter.hasCreatedAt()) {
+            long day = LocalDate.parse(filter.getCreatedAt()).toEpochDay();
+            fromDay = Math.max(fromDay, day);
+            toDay = Math.min(toDay, day);
+            dates = new CreatedAtFilter(filter.getCreatedAt());
+            criteria++;
+            description.append("createdAt=").append(filter.getCreatedAt()).append(' ');
+        }
+        if (filter.hasCreatedBefore()) {
+            toDay = Math.min(toDay, LocalDate.parse(filter.getCreatedBefore()).toEpochDay() - 1);
+            CreatedBeforeFilter before = new CreatedBeforeFilter(filter.getCreatedBefore());
+            dates = (dates == null) ? before : dates.and(before);
+            criteria++;
+            description.append("createdBefore=").append(filter.getCreatedBefore()).append(' ');
+        }
+        if (filter.hasCreatedAfter()) {
+            fromDay = Math.max(fromDay, LocalDate.parse(filter.getCreatedAfter()).toEpochDay() + 1);
+            CreatedAfterFilter after = new CreatedAfterFilter(filter.getCreatedAfter());
+            dates = (dates == null) ? after : dates.and(after);
+            criteria++;
+            description.append("createdAfter=").append(filter.getCreatedAfter()).append(' ');
+        }
+        long from = fromDay;
+        long to = toDay;
+        int count = ticketIndex.countCreatedBetween(from, to);
+        return new QueryPlan.Step(description.toString().trim(), dates,
+                DATE_COST * criteria, fraction(count),
+                () -> bitmaps.idsCreatedBetween(from, to), words + count);
+    }
+
+    /**
+     * Estimates the cost of an id set operation: the number of words of the id sets
+     */
+    private double wordCount() {
+        return (double) store.idBound() / Long.SIZE + 1;
+    }
+
+    /**
+     * Estimates the selectivity of a criterion from the number of tickets matching it
+     */
+    private double fraction(final int matching) {
+        return store.size() == 0 ? 0 : (double) matching / store.size();
+    }
+}
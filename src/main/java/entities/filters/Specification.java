@@ -1,5 +1,7 @@
 package entities.filters;
 
+import java.util.BitSet;
+
 /**
  * Generic interface defining the Specification pattern for filtering objects
  * The Specification pattern allows building complex filter criteria by combning
@@ -9,6 +11,10 @@ package entities.filters;
  * - {@code Specification<User>} for filtering users
  * The pattern enables creating reusable, composable filter criteria following the
  * Open/Closed principle.
+ * A specification can also be evaluated over a whole {@link BitmapSource} at once, into the
+ * set of the ids of the matching entities: leaves backed by an index return its id set,
+ * other leaves test the candidate entities one by one, and the composites combine the id
+ * sets of their operands with word-level AND, OR and ANDNOT.
  * @param <T> the type of entity being filtered ({@link entities.Ticket} or {@link entities.User})
  */
 public interface Specification<T> {
@@ -19,6 +25,32 @@ public interface Specification<T> {
      */
     boolean isSatisfiedBy(T item);
 
+    /**
+     * Evaluates the specification over every entity of a source
+     * @param source the entities, by id
+     * @return the ids of the entities satisfying the specification, as a modifiable set
+     */
+    default BitSet matchingIds(final BitmapSource<T> source) {
+        return filterIds(source, source.allIds());
+    }
+
+    /**
+     * Evaluates the specification over some entities of a source, testing them one by one
+     * unless the specification is backed by an index
+     * @param source the entities, by id
+     * @param candidateIds the ids of the entities to test, narrowed in place
+     * @return the candidate ids, keeping only the entities satisfying the specification
+     */
+    default BitSet filterIds(final BitmapSource<T> source, final BitSet candidateIds) {
+        for (int id = candidateIds.nextSetBit(0); id >= 0; id = candidateIds.nextSetBit(id + 1)) {
+            T item = source.get(id);
+            if (item == null || !isSatisfiedBy(item)) {
+                candidateIds.clear(id);
+            }
+        }
+        return candidateIds;
+    }
+
     /**
      *  A new specification that represents the logical AND of this
      *  specification and another specification
@@ -62,6 +94,22 @@ class AndSpecification<T> implements Specification<T> {
     public boolean isSatisfiedBy(final T item) {
         return left.isSatisfiedBy(item) && right.isSatisfiedBy(item);
     }
+
+    /**
+     * Narrows the ids matching the left operand by the right one, which only tests the
+     * entities the left operand kept
+     */
+    @Override
+    public BitSet matchingIds(final BitmapSource<T> source) {
+        BitSet leftIds = left.matchingIds(source);
+        return leftIds.isEmpty() ? leftIds : right.filterIds(source, leftIds);
+    }
+
+    @Override
+    public BitSet filterIds(final BitmapSource<T> source, final BitSet candidateIds) {
+        BitSet leftIds = left.filterIds(source, candidateIds);
+        return leftIds.isEmpty() ? leftIds : right.filterIds(source, leftIds);
+    }
 }
 
 /**
@@ -82,6 +130,27 @@ class OrSpecification<T> implements Specification<T> {
     public boolean isSatisfiedBy(final T item) {
         return left.isSatisfiedBy(item) || right.isSatisfiedBy(item);
     }
+
+    @Override
+    public BitSet matchingIds(final BitmapSource<T> source) {
+        BitSet ids = left.matchingIds(source);
+        ids.or(right.matchingIds(source));
+        return ids;
+    }
+
+    /**
+     * Tests the right operand only on the candidates the left one rejected
+     */
+    @Override
+    public BitSet filterIds(final BitmapSource<T> source, final BitSet candidateIds) {
+        BitSet rejected = (BitSet) candidateIds.clone();
+        left.filterIds(source, candidateIds);
+        rejected.andNot(candidateIds);
+        if (!rejected.isEmpty()) {
+            candidateIds.or(right.filterIds(source, rejected));
+        }
+        return candidateIds;
+    }
 }
 
 /**
@@ -100,4 +169,20 @@ class NotSpecification<T> implements Specification<T> {
     public boolean isSatisfiedBy(final T item) {
         return !spec.isSatisfiedBy(item);
     }
+
+    @Override
+    public BitSet matchingIds(final BitmapSource<T> source) {
+        BitSet ids = source.allIds();
+        ids.andNot(spec.matchingIds(source));
+        return ids;
+    }
+
+    /**
+     * Removes the candidates satisfying the negated specification, an ANDNOT of its ids
+     */
+    @Override
+    public BitSet filterIds(final BitmapSource<T> source, final BitSet candidateIds) {
+        candidateIds.andNot(spec.filterIds(source, (BitSet) candidateIds.clone()));
+        return candidateIds;
+    }
 }
@@ -0,0 +1,37 @@
+package entities.filters;
+
+import entities.Status;
+import entities.Ticket;
+
+import java.util.BitSet;
+
+/**
+ * Concrete specification for filtering tickets by their status.
+ * Implements the Specification pattern for ticket status filtering criteria.
+ */
+public class StatusFilter implements IndexedTicketFilter {
+    private final Status status;
+
+    public StatusFilter(final Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Tests whether a ticket matches the specified status.
+     * @param ticket the ticket to test
+     * @return true if the ticket's status equals the filter status, false otherwise
+     */
+    @Override
+    public boolean isSatisfiedBy(final Ticket ticket) {
+        return ticket.getStatus() == status;
+    }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets having the filter status
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsWithStatus(status);
+    }
+}
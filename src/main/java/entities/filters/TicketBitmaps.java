@@ -0,0 +1,101 @@
+package entities.filters;
+
+import entities.BussinessPriority;
+import entities.Status;
+import entities.Ticket;
+import utils.KeywordIndex;
+import utils.TicketIndex;
+import utils.TicketStore;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The tickets of a {@link TicketStore} as a {@link BitmapSource}, along with the id sets of
+ * its indexes the {@link IndexedTicketFilter} leaves resolve to
+ */
+public final class TicketBitmaps implements BitmapSource<Ticket> {
+    private final TicketStore store;
+    private final TicketIndex ticketIndex;
+    private final KeywordIndex keywordIndex;
+
+    /**
+     * Exposes the tickets of a store and its indexes
+     * @param store the store owning the tickets
+     * @param ticketIndex the indexes over its ticket attributes
+     * @param keywordIndex the index over its ticket texts
+     */
+    public TicketBitmaps(final TicketStore store, final TicketIndex ticketIndex,
+                         final KeywordIndex keywordIndex) {
+        this.store = store;
+        this.ticketIndex = ticketIndex;
+        this.keywordIndex = keywordIndex;
+    }
+
+    @Override
+    public BitSet allIds() {
+        return store.allIds();
+    }
+
+    @Override
+    public Ticket get(final int id) {
+        return store.get(id);
+    }
+
+    /**
+     * @return whether id order is also view order, creation date then id
+     */
+    public boolean isChronological() {
+        return ticketIndex.isChronological();
+    }
+
+    /**
+     * @param ticketIds the ids of the tickets
+     * @return the tickets, in view order
+     */
+    public List<Ticket> resolveInViewOrder(final BitSet ticketIds) {
+        return ticketIndex.resolveInViewOrder(ticketIds);
+    }
+
+    /**
+     * @param status the wanted status
+     * @return the ids of the tickets having the status, as a modifiable copy
+     */
+    public BitSet idsWithStatus(final Status status) {
+        return ticketIndex.idsWithStatus(status);
+    }
+
+    /**
+     * @param priority the wanted business priority
+     * @return the ids of the tickets having the priority, as a modifiable copy
+     */
+    public BitSet idsWithPriority(final BussinessPriority priority) {
+        return ticketIndex.idsWithPriority(priority);
+    }
+
+    /**
+     * @param type the wanted ticket type
+     * @return the ids of the tickets of the type, as a modifiable copy
+     */
+    public BitSet idsWithType(final String type) {
+        return ticketIndex.idsWithType(type);
+    }
+
+    /**
+     * @param fromDay first creation epoch day of the range, inclusive
+     * @param toDay last creation epoch day of the range, inclusive
+     * @return the ids of the tickets created within the range, as a modifiable copy
+     */
+    public BitSet idsCreatedBetween(final long fromDay, final long toDay) {
+        return ticketIndex.idsCreatedBetween(fromDay, toDay);
+    }
+
+    /**
+     * @param keyword the keyword, matched case-sensitively
+     * @return the ids of the tickets whose title or description contains the keyword,
+     *         as a modifiable set
+     */
+    public BitSet idsContaining(final String keyword) {
+        return keywordIndex.idsContainingAny(List.of(keyword));
+    }
+}
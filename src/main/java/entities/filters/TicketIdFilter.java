@@ -0,0 +1,37 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.BitSet;
+
+/**
+ * Concrete specification for filtering tickets by their id, against a precomputed id set
+ * such as the tickets of the milestones of a developer.
+ * Implements the Specification pattern for ticket id filtering criteria.
+ */
+public class TicketIdFilter implements IndexedTicketFilter {
+    private final BitSet ticketIds;
+
+    public TicketIdFilter(final BitSet ticketIds) {
+        this.ticketIds = ticketIds;
+    }
+
+    /**
+     * Tests whether a ticket is one of the filter ids.
+     * @param ticket the ticket to test
+     * @return true if the ticket's id is in the filter id set, false otherwise
+     */
+    @Override
+    public boolean isSatisfiedBy(final Ticket ticket) {
+        return ticketIds.get(ticket.getId());
+    }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the filter ids, as a modifiable copy
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return (BitSet) ticketIds.clone();
+    }
+}
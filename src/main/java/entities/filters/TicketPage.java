@@ -0,0 +1,37 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.List;
+
+/**
+ * Page of a ticket listing selected by a {@link PageRequest}: its tickets in view order and
+ * the cursor of the next page, if any
+ */
+public final class TicketPage {
+    private final List<Ticket> tickets;
+    private final String nextCursor;
+
+    /**
+     * @param tickets the tickets of the page, in view order
+     * @param nextCursor the cursor of the next page, {@code null} for the last page
+     */
+    public TicketPage(final List<Ticket> tickets, final String nextCursor) {
+        this.tickets = tickets;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the tickets of the page, in view order
+     */
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    /**
+     * @return the cursor of the next page, or {@code null} if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,44 @@
+package entities.filters;
+
+import entities.Ticket;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a ticket search, as cached between two changes of the searched state: the
+ * matching tickets in view order and, for managers, the ids of the tickets matching each
+ * keyword, from which the matching words of every result are reported
+ */
+public final class TicketSearchResult {
+    private final List<Ticket> tickets;
+    private final List<Map.Entry<String, BitSet>> keywordIds;
+
+    /**
+     * @param tickets the matching tickets, in view order
+     * @param keywordIds the ids matching each keyword, sorted by keyword,
+     *                   {@code null} when no matching words are reported
+     */
+    public TicketSearchResult(final List<Ticket> tickets,
+                              final List<Map.Entry<String, BitSet>> keywordIds) {
+        this.tickets = Collections.unmodifiableList(tickets);
+        this.keywordIds = keywordIds == null ? null : Collections.unmodifiableList(keywordIds);
+    }
+
+    /**
+     * @return a read-only view of the matching tickets, in view order
+     */
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    /**
+     * @return the ids matching each keyword, or {@code null} if no matching words are
+     *         reported
+     */
+    public List<Map.Entry<String, BitSet>> getKeywordIds() {
+        return keywordIds;
+    }
+}
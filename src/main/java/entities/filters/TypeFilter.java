@@ -2,11 +2,13 @@ package entities.filters;
 
 import entities.Ticket;
 
+import java.util.BitSet;
+
 /**
  * Concrete specification for filtering tickets by their type.
  * Implements the Specification pattern for ticket type filtering criteria.
  */
-public class TypeFilter implements Specification<Ticket> {
+public class TypeFilter implements IndexedTicketFilter {
      private final String type;
 
     public TypeFilter(final String type) {
@@ -22,4 +24,13 @@ public class TypeFilter implements Specification<Ticket> {
     public boolean isSatisfiedBy(final Ticket ticket) {
         return ticket.getType().equals(type);
     }
+
+    /**
+     * @param bitmaps the tickets and their indexes
+     * @return the ids of the tickets of the filter type
+     */
+    @Override
+    public BitSet lookup(final TicketBitmaps bitmaps) {
+        return bitmaps.idsWithType(type);
+    }
 }
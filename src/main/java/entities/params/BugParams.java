@@ -0,0 +1,56 @@
+package entities.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import entities.BugTicketFactory;
+import entities.Frequency;
+import entities.Severity;
+import entities.Ticket;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a reported {@link entities.Bug}
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BugParams extends ReportParams {
+    private static final int NO_ERROR_CODE = -1;
+
+    @JsonProperty("expectedBehavior")
+    private String expectedBehavior;
+
+    @JsonProperty("actualBehavior")
+    private String actualBehavior;
+
+    @JsonProperty("frequency")
+    private Frequency frequency;
+
+    @JsonProperty("severity")
+    private Severity severity;
+
+    @JsonProperty("environment")
+    private String environment;
+
+    @JsonProperty("errorCode")
+    private Integer errorCode = NO_ERROR_CODE;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ticket createTicket(final int id) {
+        return new BugTicketFactory(expectedBehavior, actualBehavior, frequency, severity)
+                .id(id)
+                .title(getTitle())
+                .businessPriority(getBusinessPriority())
+                .status(getStatus())
+                .expertiseArea(getExpertiseArea())
+                .description(getDescription())
+                .reportedBy(reporterOrNull())
+                .environment(environment)
+                .errorCode(errorCode)
+                .createTicket();
+    }
+}
@@ -0,0 +1,40 @@
+package entities.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import entities.BusinessValue;
+import entities.CustomerDemand;
+import entities.FeatureRequestFactory;
+import entities.Ticket;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a reported {@link entities.FeatureRequest}
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class FeatureRequestParams extends ReportParams {
+    @JsonProperty("businessValue")
+    private BusinessValue businessValue;
+
+    @JsonProperty("customerDemand")
+    private CustomerDemand customerDemand;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ticket createTicket(final int id) {
+        return new FeatureRequestFactory(businessValue, customerDemand)
+                .id(id)
+                .title(getTitle())
+                .businessPriority(getBusinessPriority())
+                .status(getStatus())
+                .expertiseArea(getExpertiseArea())
+                .description(getDescription())
+                .reportedBy(reporterOrNull())
+                .createTicket();
+    }
+}
@@ -0,0 +1,46 @@
+package entities.params;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import entities.Milestone;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import utils.EngineContext;
+
+/**
+ * Data transfer object (DTO) holding the fields of a createMilestone command.
+ * Binding it does not touch the engine state, the {@link Milestone} itself (which
+ * notifies developers and blocks other milestones) is only built when the command runs
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MilestoneParams {
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("dueDate")
+    private String dueDate;
+
+    @JsonProperty("blockingFor")
+    private String[] blockingFor;
+
+    @JsonProperty("tickets")
+    private int[] tickets;
+
+    @JsonProperty("assignedDevs")
+    private String[] assignedDevs;
+
+    /**
+     * Creates the milestone described by these parameters
+     * @param context the engine execution the milestone belongs to
+     * @param username the manager creating the milestone
+     * @param timestamp the creation timestamp
+     * @return the new milestone
+     */
+    public Milestone toMilestone(final EngineContext context, final String username,
+                                 final String timestamp) {
+        return new Milestone(context, username, timestamp, name, dueDate, blockingFor,
+                tickets, assignedDevs);
+    }
+}
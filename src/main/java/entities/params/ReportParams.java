@@ -0,0 +1,63 @@
+package entities.params;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import entities.BussinessPriority;
+import entities.ExpertiseArea;
+import entities.Status;
+import entities.Ticket;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object (DTO) holding the {@code params} of a reportTicket command.
+ * The concrete subtype is selected by the {@code type} property, so Jackson binds the
+ * parameters in one pass over the tokens, enums included, instead of probing a tree
+ * field by field. Unknown or missing types bind to {@code null}, no ticket is reported.
+ * Each subtype feeds the matching {@link entities.TicketFactory}.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = Void.class)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = BugParams.class, name = "BUG"),
+        @JsonSubTypes.Type(value = FeatureRequestParams.class, name = "FEATURE_REQUEST"),
+        @JsonSubTypes.Type(value = UIFeedbackParams.class, name = "UI_FEEDBACK")
+})
+public abstract class ReportParams {
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("businessPriority")
+    private BussinessPriority businessPriority;
+
+    @JsonProperty("status")
+    private Status status;
+
+    @JsonProperty("expertiseArea")
+    private ExpertiseArea expertiseArea;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("reportedBy")
+    private String reportedBy;
+
+    /**
+     * Anonymous reports come either without reportedBy or with an empty one
+     * @return the reporter, {@code null} for anonymous reports
+     */
+    public String reporterOrNull() {
+        return reportedBy != null && !reportedBy.isEmpty() ? reportedBy : null;
+    }
+
+    /**
+     * Builds the ticket described by these parameters through its factory
+     * @param id the id assigned to the new ticket
+     * @return the created ticket
+     */
+    public abstract Ticket createTicket(int id);
+}
@@ -0,0 +1,53 @@
+package entities.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import entities.BusinessValue;
+import entities.Ticket;
+import entities.UIFeedbackFactory;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a reported {@link entities.UIFeedback}
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class UIFeedbackParams extends ReportParams {
+    private static final int NO_USABILITY_SCORE = -1;
+
+    @JsonProperty("businessValue")
+    private BusinessValue businessValue;
+
+    @JsonProperty("usabilityScore")
+    private int usabilityScore = NO_USABILITY_SCORE;
+
+    @JsonProperty("screenshotUrl")
+    private String screenshotUrl;
+
+    @JsonProperty("suggestedFix")
+    private String suggestedFix;
+
+    @JsonProperty("uiElementId")
+    private String uiElementId;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ticket createTicket(final int id) {
+        return new UIFeedbackFactory(businessValue, usabilityScore)
+                .id(id)
+                .title(getTitle())
+                .businessPriority(getBusinessPriority())
+                .status(getStatus())
+                .expertiseArea(getExpertiseArea())
+                .description(getDescription())
+                .reportedBy(reporterOrNull())
+                .screenshotUrl(screenshotUrl)
+                .suggestedFix(suggestedFix)
+                .uiElementId(uiElementId)
+                .createTicket();
+    }
+}
@@ -0,0 +1,102 @@
+package io;
+
+import entities.Command;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of a command log, meant for replaying the same histories
+ * many times without re-parsing verbose JSON.
+ * A log starts with {@link #MAGIC} and {@link #VERSION}, followed by one record per
+ * command: name, issuer, timestamp, a bit set of {@code FLAG_*} telling which inputs
+ * follow, then those inputs. Encoding rules:
+ * <ul>
+ *     <li>integers are unsigned LEB128 varints, signed ones zigzag encoded first</li>
+ *     <li>strings go through a string table: {@code 0} is {@code null}, {@code 1} defines
+ *     the next table entry inline (varint length and UTF-8 bytes), {@code n >= 2} refers
+ *     to entry {@code n - 2}, so repeated usernames, command names and titles cost a
+ *     single byte or two</li>
+ *     <li>{@code yyyy-MM-dd} dates are the zigzag epoch day plus one, {@code 0} being
+ *     followed by the date as a plain string when it is not in that format</li>
+ *     <li>enums are their ordinal plus one, {@code 0} being {@code null}</li>
+ *     <li>arrays are their length plus one followed by the elements, {@code 0} being
+ *     {@code null}</li>
+ * </ul>
+ * Version 2 added the paging inputs, {@code limit} and {@code cursor}; version 1 logs,
+ * which never hold them, are still read.
+ * Written by {@link BinaryCommandWriter}, read back by {@link BinaryCommandReader}
+ */
+public final class BinaryCommandLog {
+    static final byte[] MAGIC = {'T', 'K', 'L', 'G'};
+    static final int VERSION = 2;
+    static final int FIRST_VERSION = 1;
+
+    static final int FLAG_TICKET_ID = 1;
+    static final int FLAG_COMMENT = 1 << 1;
+    static final int FLAG_PARAMS = 1 << 2;
+    static final int FLAG_FILTERS = 1 << 3;
+    static final int FLAG_MILESTONE = 1 << 4;
+    static final int FLAG_PAGE = 1 << 5;
+
+    static final int PARAMS_BUG = 0;
+    static final int PARAMS_FEATURE_REQUEST = 1;
+    static final int PARAMS_UI_FEEDBACK = 2;
+
+    static final int NULL_REF = 0;
+    static final int INLINE_REF = 1;
+    static final int FIRST_TABLE_REF = 2;
+    static final int PLAIN_DATE = 0;
+
+    static final int VARINT_PAYLOAD_BITS = 7;
+    static final int VARINT_PAYLOAD_MASK = 0x7F;
+    static final int VARINT_CONTINUATION = 0x80;
+    static final int BYTE_MASK = 0xFF;
+
+    private BinaryCommandLog() {
+    }
+
+    /**
+     * Converts a JSON command log into the binary format
+     * @param input the JSON command log
+     * @param inputFormat framing of the JSON command log
+     * @param output the binary log to create, parent folders are created if missing
+     * @return the number of converted commands
+     * @throws IOException if the input cannot be read or the output written
+     */
+    public static long convert(final File input, final StreamFormat inputFormat,
+                               final File output) throws IOException {
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        long count = 0;
+        try (CommandSource source = inputFormat.openSource(input, false);
+             BinaryCommandWriter writer = new BinaryCommandWriter(
+                     new FileOutputStream(output))) {
+            Command command;
+            while ((command = source.next()) != null) {
+                writer.write(command);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Command line converter: {@code <input.json> <output.bin> [JSON_ARRAY|NDJSON]}
+     * @param args input file, output file and optional input framing
+     * @throws IOException if the conversion fails
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: BinaryCommandLog <input.json> <output.bin>"
+                    + " [JSON_ARRAY|NDJSON]");
+            return;
+        }
+        StreamFormat format = args.length > 2
+                ? StreamFormat.valueOf(args[2]) : StreamFormat.JSON_ARRAY;
+        long count = convert(new File(args[0]), format, new File(args[1]));
+        System.out.println("converted " + count + " commands into " + args[1]);
+    }
+}
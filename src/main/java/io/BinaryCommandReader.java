@@ -0,0 +1,368 @@
+package io;
+
+import entities.BusinessValue;
+import entities.BussinessPriority;
+import entities.Command;
+import entities.CustomerDemand;
+import entities.ExpertiseArea;
+import entities.Frequency;
+import entities.Severity;
+import entities.Status;
+import entities.filters.Filter;
+import entities.params.BugParams;
+import entities.params.FeatureRequestParams;
+import entities.params.MilestoneParams;
+import entities.params.ReportParams;
+import entities.params.UIFeedbackParams;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.BinaryCommandLog.BYTE_MASK;
+import static io.BinaryCommandLog.FIRST_TABLE_REF;
+import static io.BinaryCommandLog.FLAG_COMMENT;
+import static io.BinaryCommandLog.FLAG_FILTERS;
+import static io.BinaryCommandLog.FLAG_MILESTONE;
+import static io.BinaryCommandLog.FLAG_PAGE;
+import static io.BinaryCommandLog.FLAG_PARAMS;
+import static io.BinaryCommandLog.FLAG_TICKET_ID;
+import static io.BinaryCommandLog.INLINE_REF;
+import static io.BinaryCommandLog.NULL_REF;
+import static io.BinaryCommandLog.PARAMS_BUG;
+import static io.BinaryCommandLog.PARAMS_FEATURE_REQUEST;
+import static io.BinaryCommandLog.PARAMS_UI_FEEDBACK;
+import static io.BinaryCommandLog.PLAIN_DATE;
+import static io.BinaryCommandLog.VARINT_CONTINUATION;
+import static io.BinaryCommandLog.VARINT_PAYLOAD_BITS;
+import static io.BinaryCommandLog.VARINT_PAYLOAD_MASK;
+
+/**
+ * {@link CommandSource} replaying a {@link BinaryCommandLog}.
+ * Records are decoded straight into {@link Command}s from an internal byte buffer,
+ * without any JSON tokenization or tree.
+ * Every decoded reference, ordinal and length is checked before use, and arrays and
+ * strings only grow with the bytes actually read, so a corrupted or foreign log fails
+ * with an {@link IOException} instead of an unchecked exception or a huge allocation
+ */
+public final class BinaryCommandReader implements CommandSource {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int VARINT_MAX_SHIFT = 63;
+
+    private static final BussinessPriority[] PRIORITIES = BussinessPriority.values();
+    private static final Status[] STATUSES = Status.values();
+    private static final ExpertiseArea[] AREAS = ExpertiseArea.values();
+    private static final Frequency[] FREQUENCIES = Frequency.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final BusinessValue[] BUSINESS_VALUES = BusinessValue.values();
+    private static final CustomerDemand[] DEMANDS = CustomerDemand.values();
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final List<String> stringTable = new ArrayList<>();
+    private int position = 0;
+    private int limit = 0;
+    private boolean headerRead = false;
+    private long lastEpochDay = Long.MIN_VALUE;
+    private String lastDate;
+
+    /**
+     * @param in the binary log, closed along with this reader
+     */
+    public BinaryCommandReader(final InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Decodes the next command record
+     * @return the next command, or {@code null} at the end of the log
+     * @throws IOException if the log is not in the binary format or is truncated
+     */
+    @Override
+    public Command next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+        if (!fill()) {
+            return null;
+        }
+        Command command = new Command();
+        command.setCommand(readString());
+        command.setUsername(readString());
+        command.setTimestamp(readDate());
+
+        int flags = (int) readVarint();
+        if ((flags & FLAG_TICKET_ID) != 0) {
+            command.setTargetTicketId((int) readSigned());
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            command.setCommentContent(readString());
+        }
+        if ((flags & FLAG_PARAMS) != 0) {
+            command.setParams(readParams());
+        }
+        if ((flags & FLAG_FILTERS) != 0) {
+            command.setFilters(readFilter());
+        }
+        if ((flags & FLAG_MILESTONE) != 0) {
+            command.setMilestoneParams(readMilestone());
+        }
+        if ((flags & FLAG_PAGE) != 0) {
+            command.setLimit(readNullableInt());
+            command.setCursor(readString());
+        }
+        return command;
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        for (byte expected : BinaryCommandLog.MAGIC) {
+            if (!fill() || buffer[position++] != expected) {
+                throw new IOException("not a binary command log");
+            }
+        }
+        long version = readVarint();
+        if (version < BinaryCommandLog.FIRST_VERSION || version > BinaryCommandLog.VERSION) {
+            throw new IOException("unsupported binary command log version " + version);
+        }
+    }
+
+    private ReportParams readParams() throws IOException {
+        int kind = (int) readVarint();
+        ReportParams params;
+        switch (kind) {
+            case PARAMS_BUG:
+                params = new BugParams();
+                break;
+            case PARAMS_FEATURE_REQUEST:
+                params = new FeatureRequestParams();
+                break;
+            case PARAMS_UI_FEEDBACK:
+                params = new UIFeedbackParams();
+                break;
+            default:
+                throw new IOException("unknown report parameters kind " + kind);
+        }
+        params.setTitle(readString());
+        params.setDescription(readString());
+        params.setReportedBy(readString());
+        params.setBusinessPriority(readEnum(PRIORITIES));
+        params.setStatus(readEnum(STATUSES));
+        params.setExpertiseArea(readEnum(AREAS));
+
+        if (params instanceof BugParams bug) {
+            bug.setExpectedBehavior(readString());
+            bug.setActualBehavior(readString());
+            bug.setEnvironment(readString());
+            bug.setFrequency(readEnum(FREQUENCIES));
+            bug.setSeverity(readEnum(SEVERITIES));
+            bug.setErrorCode(readNullableInt());
+        } else if (params instanceof FeatureRequestParams feature) {
+            feature.setBusinessValue(readEnum(BUSINESS_VALUES));
+            feature.setCustomerDemand(readEnum(DEMANDS));
+        } else if (params instanceof UIFeedbackParams feedback) {
+            feedback.setBusinessValue(readEnum(BUSINESS_VALUES));
+            feedback.setUsabilityScore((int) readSigned());
+            feedback.setScreenshotUrl(readString());
+            feedback.setSuggestedFix(readString());
+            feedback.setUiElementId(readString());
+        }
+        return params;
+    }
+
+    private Filter readFilter() throws IOException {
+        String searchType = readString();
+        String businessPriority = readString();
+        String type = readString();
+        String createdAt = readString();
+        String createdBefore = readString();
+        String createdAfter = readString();
+        String expertiseArea = readString();
+        String seniority = readString();
+        String[] keywords = readStrings();
+        int available = (int) readVarint();
+        Double scoreAbove = readNullableDouble();
+        Double scoreBelow = readNullableDouble();
+        return new Filter(searchType, businessPriority, type, createdAt, createdBefore,
+                createdAfter, expertiseArea, seniority, keywords,
+                available == 0 ? null : available == 2, scoreAbove, scoreBelow);
+    }
+
+    private MilestoneParams readMilestone() throws IOException {
+        MilestoneParams milestone = new MilestoneParams();
+        milestone.setName(readString());
+        milestone.setDueDate(readDate());
+        milestone.setBlockingFor(readStrings());
+        milestone.setAssignedDevs(readStrings());
+        long encoded = readVarint();
+        if (encoded != NULL_REF) {
+            int count = toLength(encoded - 1);
+            List<Integer> tickets = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                tickets.add((int) readSigned());
+            }
+            milestone.setTickets(tickets.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return milestone;
+    }
+
+    private String[] readStrings() throws IOException {
+        long encoded = readVarint();
+        if (encoded == NULL_REF) {
+            return null;
+        }
+        int count = toLength(encoded - 1);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private String readString() throws IOException {
+        long ref = readVarint();
+        if (ref == NULL_REF) {
+            return null;
+        }
+        if (ref != INLINE_REF) {
+            if (ref < FIRST_TABLE_REF || ref - FIRST_TABLE_REF >= stringTable.size()) {
+                throw new IOException("string table reference " + ref + " out of range");
+            }
+            return stringTable.get((int) (ref - FIRST_TABLE_REF));
+        }
+        int length = toLength(readVarint());
+        String value;
+        if (limit - position >= length) {
+            value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+        } else {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+            for (int remaining = length; remaining > 0;) {
+                if (!fill()) {
+                    throw new EOFException("truncated binary command log");
+                }
+                int chunk = Math.min(remaining, limit - position);
+                bytes.write(buffer, position, chunk);
+                position += chunk;
+                remaining -= chunk;
+            }
+            value = bytes.toString(StandardCharsets.UTF_8);
+        }
+        stringTable.add(value);
+        return value;
+    }
+
+    /**
+     * Checks a decoded element or byte count, the actual input bounding it as it is read
+     */
+    private static int toLength(final long encoded) throws IOException {
+        if (encoded < 0 || encoded > Integer.MAX_VALUE) {
+            throw new IOException("invalid length " + encoded);
+        }
+        return (int) encoded;
+    }
+
+    /**
+     * Consecutive commands mostly share their timestamp, so the last rendered date is kept
+     */
+    private String readDate() throws IOException {
+        long encoded = readVarint();
+        if (encoded == PLAIN_DATE) {
+            return readString();
+        }
+        long epochDay = unzigzag(encoded - 1);
+        if (epochDay != lastEpochDay) {
+            try {
+                lastDate = LocalDate.ofEpochDay(epochDay).toString();
+            } catch (DateTimeException e) {
+                throw new IOException("invalid date " + epochDay, e);
+            }
+            lastEpochDay = epochDay;
+        }
+        return lastDate;
+    }
+
+    private <E extends Enum<E>> E readEnum(final E[] values) throws IOException {
+        long ordinal = readVarint();
+        if (ordinal == NULL_REF) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal > values.length) {
+            throw new IOException("invalid "
+                    + values.getClass().getComponentType().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[(int) ordinal - 1];
+    }
+
+    private Integer readNullableInt() throws IOException {
+        long encoded = readVarint();
+        return encoded == NULL_REF ? null : (int) unzigzag(encoded - 1);
+    }
+
+    private Double readNullableDouble() throws IOException {
+        if (readByte() == 0) {
+            return null;
+        }
+        long bits = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            bits = (bits << Byte.SIZE) | (readByte() & BYTE_MASK);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private long readSigned() throws IOException {
+        return unzigzag(readVarint());
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift <= VARINT_MAX_SHIFT; shift += VARINT_PAYLOAD_BITS) {
+            byte current = readByte();
+            value |= (long) (current & VARINT_PAYLOAD_MASK) << shift;
+            if ((current & VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private byte readByte() throws IOException {
+        if (!fill()) {
+            throw new EOFException("truncated binary command log");
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Makes sure at least one byte is buffered, refilling the buffer once consumed
+     * @return {@code false} at the end of the log
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read = in.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    /**
+     * Releases the underlying input
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,259 @@
+package io;
+
+import entities.Command;
+import entities.filters.Filter;
+import entities.params.BugParams;
+import entities.params.FeatureRequestParams;
+import entities.params.MilestoneParams;
+import entities.params.ReportParams;
+import entities.params.UIFeedbackParams;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.BinaryCommandLog.BYTE_MASK;
+import static io.BinaryCommandLog.FIRST_TABLE_REF;
+import static io.BinaryCommandLog.FLAG_COMMENT;
+import static io.BinaryCommandLog.FLAG_FILTERS;
+import static io.BinaryCommandLog.FLAG_MILESTONE;
+import static io.BinaryCommandLog.FLAG_PAGE;
+import static io.BinaryCommandLog.FLAG_PARAMS;
+import static io.BinaryCommandLog.FLAG_TICKET_ID;
+import static io.BinaryCommandLog.INLINE_REF;
+import static io.BinaryCommandLog.NULL_REF;
+import static io.BinaryCommandLog.PARAMS_BUG;
+import static io.BinaryCommandLog.PARAMS_FEATURE_REQUEST;
+import static io.BinaryCommandLog.PARAMS_UI_FEEDBACK;
+import static io.BinaryCommandLog.PLAIN_DATE;
+import static io.BinaryCommandLog.VARINT_CONTINUATION;
+import static io.BinaryCommandLog.VARINT_PAYLOAD_BITS;
+import static io.BinaryCommandLog.VARINT_PAYLOAD_MASK;
+
+/**
+ * Encodes bound {@link Command}s into the {@link BinaryCommandLog} format
+ */
+public final class BinaryCommandWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int ZIGZAG_SHIFT = 63;
+
+    private final OutputStream out;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    /**
+     * Writes the log header right away
+     * @param out the destination of the log, closed along with this writer
+     * @throws IOException if the header cannot be written
+     */
+    public BinaryCommandWriter(final OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.out.write(BinaryCommandLog.MAGIC);
+        writeVarint(BinaryCommandLog.VERSION);
+    }
+
+    /**
+     * Appends one command record
+     * @param command the command, with all of its inputs bound
+     * @throws IOException if the record cannot be written
+     */
+    public void write(final Command command) throws IOException {
+        writeString(command.getCommand());
+        writeString(command.getUsername());
+        writeDate(command.getTimestamp());
+
+        int flags = 0;
+        flags |= command.getTargetTicketId() != 0 ? FLAG_TICKET_ID : 0;
+        flags |= command.getCommentContent() != null ? FLAG_COMMENT : 0;
+        flags |= command.getParams() != null ? FLAG_PARAMS : 0;
+        flags |= command.getFilters() != null ? FLAG_FILTERS : 0;
+        flags |= command.getMilestoneParams() != null ? FLAG_MILESTONE : 0;
+        flags |= command.getLimit() != null || command.getCursor() != null ? FLAG_PAGE : 0;
+        writeVarint(flags);
+
+        if (command.getTargetTicketId() != 0) {
+            writeSigned(command.getTargetTicketId());
+        }
+        if (command.getCommentContent() != null) {
+            writeString(command.getCommentContent());
+        }
+        if (command.getParams() != null) {
+            writeParams(command.getParams());
+        }
+        if (command.getFilters() != null) {
+            writeFilter(command.getFilters());
+        }
+        if (command.getMilestoneParams() != null) {
+            writeMilestone(command.getMilestoneParams());
+        }
+        if (command.getLimit() != null || command.getCursor() != null) {
+            writeNullableInt(command.getLimit());
+            writeString(command.getCursor());
+        }
+    }
+
+    private void writeParams(final ReportParams params) throws IOException {
+        if (params instanceof BugParams) {
+            writeVarint(PARAMS_BUG);
+        } else if (params instanceof FeatureRequestParams) {
+            writeVarint(PARAMS_FEATURE_REQUEST);
+        } else if (params instanceof UIFeedbackParams) {
+            writeVarint(PARAMS_UI_FEEDBACK);
+        } else {
+            throw new IOException("unsupported report parameters: " + params.getClass());
+        }
+        writeString(params.getTitle());
+        writeString(params.getDescription());
+        writeString(params.getReportedBy());
+        writeEnum(params.getBusinessPriority());
+        writeEnum(params.getStatus());
+        writeEnum(params.getExpertiseArea());
+
+        if (params instanceof BugParams bug) {
+            writeString(bug.getExpectedBehavior());
+            writeString(bug.getActualBehavior());
+            writeString(bug.getEnvironment());
+            writeEnum(bug.getFrequency());
+            writeEnum(bug.getSeverity());
+            writeNullableInt(bug.getErrorCode());
+        } else if (params instanceof FeatureRequestParams feature) {
+            writeEnum(feature.getBusinessValue());
+            writeEnum(feature.getCustomerDemand());
+        } else if (params instanceof UIFeedbackParams feedback) {
+            writeEnum(feedback.getBusinessValue());
+            writeSigned(feedback.getUsabilityScore());
+            writeString(feedback.getScreenshotUrl());
+            writeString(feedback.getSuggestedFix());
+            writeString(feedback.getUiElementId());
+        }
+    }
+
+    private void writeFilter(final Filter filter) throws IOException {
+        writeString(filter.getSearchType());
+        writeString(filter.getBusinessPriority());
+        writeString(filter.getType());
+        writeString(filter.getCreatedAt());
+        writeString(filter.getCreatedBefore());
+        writeString(filter.getCreatedAfter());
+        writeString(filter.getExpertiseArea());
+        writeString(filter.getSeniority());
+        writeStrings(filter.getKeywords());
+        Boolean available = filter.getAvailableForAssignment();
+        writeVarint(available == null ? 0 : (available ? 2 : 1));
+        writeNullableDouble(filter.getPerformanceScoreAbove());
+        writeNullableDouble(filter.getPerformanceScoreBelow());
+    }
+
+    private void writeMilestone(final MilestoneParams milestone) throws IOException {
+        writeString(milestone.getName());
+        writeDate(milestone.getDueDate());
+        writeStrings(milestone.getBlockingFor());
+        writeStrings(milestone.getAssignedDevs());
+        int[] tickets = milestone.getTickets();
+        if (tickets == null) {
+            writeVarint(NULL_REF);
+            return;
+        }
+        writeVarint(tickets.length + 1);
+        for (int ticketId : tickets) {
+            writeSigned(ticketId);
+        }
+    }
+
+    private void writeStrings(final String[] values) throws IOException {
+        if (values == null) {
+            writeVarint(NULL_REF);
+            return;
+        }
+        writeVarint(values.length + 1);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        if (value == null) {
+            writeVarint(NULL_REF);
+            return;
+        }
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarint(index + FIRST_TABLE_REF);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(INLINE_REF);
+        writeVarint(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Dates that do not survive a {@link LocalDate} round trip are kept as strings
+     */
+    private void writeDate(final String date) throws IOException {
+        if (date != null) {
+            try {
+                LocalDate parsed = LocalDate.parse(date);
+                if (parsed.toString().equals(date)) {
+                    writeVarint(zigzag(parsed.toEpochDay()) + 1);
+                    return;
+                }
+            } catch (DateTimeParseException e) {
+                // not an ISO date, written as a plain string below
+            }
+        }
+        writeVarint(PLAIN_DATE);
+        writeString(date);
+    }
+
+    private void writeEnum(final Enum<?> value) throws IOException {
+        writeVarint(value == null ? NULL_REF : value.ordinal() + 1);
+    }
+
+    private void writeNullableInt(final Integer value) throws IOException {
+        writeVarint(value == null ? NULL_REF : zigzag(value) + 1);
+    }
+
+    private void writeNullableDouble(final Double value) throws IOException {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        out.write(1);
+        long bits = Double.doubleToLongBits(value);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            out.write((int) (bits >>> shift) & BYTE_MASK);
+        }
+    }
+
+    private void writeSigned(final long value) throws IOException {
+        writeVarint(zigzag(value));
+    }
+
+    private void writeVarint(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.write((int) (remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            remaining >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.write((int) remaining);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> ZIGZAG_SHIFT);
+    }
+
+    /**
+     * Flushes the pending records and closes the destination
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,18 @@
+package io;
+
+import entities.Command;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull based source of input commands, consumed one command at a time by {@link main.App}
+ */
+public interface CommandSource extends Closeable {
+    /**
+     * @return the next command, bound with all of its inputs,
+     *         or {@code null} once the input is exhausted
+     * @throws IOException if the underlying content cannot be read
+     */
+    Command next() throws IOException;
+}
@@ -0,0 +1,63 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import utils.ErrLogger;
+
+import java.io.IOException;
+
+/**
+ * Base {@link OutputSink} serializing results through a Jackson {@link JsonGenerator}
+ * as soon as they are produced. Subclasses only decide how results are framed
+ * (enclosing array, one per line etc.)
+ */
+public abstract class GeneratorSink implements OutputSink {
+    protected final JsonGenerator generator;
+    private final int flushInterval;
+    private int pending = 0;
+
+    /**
+     * @param generator the generator writing to the output destination
+     * @param flushInterval number of results written between two flushes,
+     *                      {@code 0} or less to flush only when the sink is closed
+     */
+    protected GeneratorSink(final JsonGenerator generator, final int flushInterval) {
+        this.generator = generator;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Renders the result right away, flushing the generator every
+     * {@code flushInterval} results
+     * @param writer the renderer of the result
+     */
+    @Override
+    public void write(final ResultWriter writer) {
+        try {
+            writer.writeTo(generator);
+            afterResult();
+            pending++;
+            if (flushInterval > 0 && pending >= flushInterval) {
+                generator.flush();
+                pending = 0;
+            }
+        } catch (IOException e) {
+            System.out.println("error writing to output file: " + e.getMessage());
+            ErrLogger.getInstance().logException(e, "Failed to write result");
+        }
+    }
+
+    /**
+     * Hook invoked after every serialized result, used for framing
+     * @throws IOException if the framing cannot be written
+     */
+    protected void afterResult() throws IOException {
+    }
+
+    /**
+     * Releases the generator and the output destination
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
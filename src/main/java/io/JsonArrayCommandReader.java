@@ -0,0 +1,65 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import entities.Command;
+
+import java.io.IOException;
+
+import static main.App.MAPPER;
+
+/**
+ * Streaming reader over the top-level JSON array of input commands.
+ * Commands are pulled one by one from a Jackson {@link JsonParser}, so only the command
+ * currently being handled is materialized as a tree, independently of the input file size
+ */
+public final class JsonArrayCommandReader implements CommandSource {
+    private final JsonParser parser;
+    private boolean started = false;
+    private boolean finished = false;
+
+    /**
+     * @param parser a parser positioned before the top-level array of commands
+     */
+    public JsonArrayCommandReader(final JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Reads the next command object of the array.
+     * Non-object elements are skipped, as they cannot describe a command
+     * @return the next command, or {@code null} once the array is exhausted
+     * @throws IOException if the underlying content is malformed
+     */
+    @Override
+    public Command next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                finished = true;
+                return null;
+            }
+        }
+        JsonToken token = parser.nextToken();
+        while (token != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                return JsonCommandBinder.bind(MAPPER.readTree(parser));
+            }
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+        finished = true;
+        return null;
+    }
+
+    /**
+     * Releases the underlying parser and input
+     */
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,36 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * {@link OutputSink} writing every result into one top-level array, indented or not
+ * depending on the {@link OutputEncoding} of the generator.
+ * The array is opened on construction and each result is appended to it right away,
+ * so memory stays bounded by a single result and the output grows while the run
+ * is still in progress
+ */
+public final class JsonArraySink extends GeneratorSink {
+
+    /**
+     * Starts the top-level array
+     * @param generator the generator writing to the output destination
+     * @param flushInterval number of results written between two flushes
+     * @throws IOException if the array cannot be opened
+     */
+    public JsonArraySink(final JsonGenerator generator, final int flushInterval)
+            throws IOException {
+        super(generator, flushInterval);
+        generator.writeStartArray();
+    }
+
+    /**
+     * Closes the top-level array and releases the output
+     */
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        super.close();
+    }
+}
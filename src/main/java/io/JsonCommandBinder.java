@@ -0,0 +1,66 @@
+package io;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import entities.Command;
+import entities.filters.Filter;
+import entities.params.MilestoneParams;
+import entities.params.ReportParams;
+import utils.ErrLogger;
+
+import java.io.IOException;
+
+import static main.App.MAPPER;
+
+/**
+ * Binds a JSON command object into a typed {@link Command}: its name, issuer, timestamp
+ * and every input the handler needs. Nothing here touches the engine state, so the
+ * binding can run on the parsing stage of a pipelined run
+ */
+final class JsonCommandBinder {
+    private static final ObjectReader PARAMS_READER = MAPPER.readerFor(ReportParams.class);
+    private static final ObjectReader FILTER_READER = MAPPER.readerFor(Filter.class);
+    private static final ObjectReader MILESTONE_READER = MAPPER.readerFor(MilestoneParams.class);
+
+    private JsonCommandBinder() {
+    }
+
+    /**
+     * @param commandNode the JSON object describing the command
+     * @return a command ready to be executed
+     * @throws IOException if the report or milestone parameters are malformed
+     */
+    static Command bind(final JsonNode commandNode) throws IOException {
+        Command command = new Command();
+        command.setCommand(commandNode.get("command").asText());
+        command.setUsername(commandNode.get("username").asText());
+        command.setTimestamp(commandNode.get("timestamp").asText());
+        if (commandNode.has("ticketID")) {
+            command.setTargetTicketId(commandNode.get("ticketID").asInt());
+        }
+        if (commandNode.has("comment")) {
+            command.setCommentContent(commandNode.get("comment").asText());
+        }
+        if (commandNode.has("params")) {
+            command.setParams(PARAMS_READER.readValue(commandNode.get("params")));
+        }
+        if (commandNode.has("filters")) {
+            // a malformed filter only fails its own search, as it did when parsed on handling
+            try {
+                command.setFilters(FILTER_READER.readValue(commandNode.get("filters")));
+            } catch (IOException e) {
+                ErrLogger.getInstance().logException(e, "Failed to parse the filter");
+            }
+        }
+        if (commandNode.hasNonNull("limit")) {
+            command.setLimit(commandNode.get("limit").asInt());
+        }
+        if (commandNode.hasNonNull("cursor")) {
+            command.setCursor(commandNode.get("cursor").asText());
+        }
+        if ("createMilestone".equals(command.getCommand())) {
+            command.setMilestoneParams(MILESTONE_READER.readValue(commandNode));
+        }
+        return command;
+    }
+}
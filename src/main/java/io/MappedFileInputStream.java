@@ -0,0 +1,104 @@
+package io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only {@link InputStream} over a memory-mapped file.
+ * The file is mapped through {@link FileChannel#map} in consecutive regions (a single
+ * {@link MappedByteBuffer} cannot exceed 2 GB), only the region being consumed is kept
+ * referenced. Reads are served straight from the page cache, without the system call
+ * and kernel to user copy of a regular file stream
+ */
+public final class MappedFileInputStream extends InputStream {
+    public static final long DEFAULT_REGION_SIZE = 1L << 30;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private long nextRegionStart = 0;
+    private MappedByteBuffer region;
+
+    /**
+     * Maps the given file using regions of {@link #DEFAULT_REGION_SIZE} bytes
+     * @param file the file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(final File file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Same as above, with an explicit region size
+     * @param file the file to read
+     * @param regionSize maximum number of bytes mapped at once, at most
+     *                   {@link Integer#MAX_VALUE}
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(final File file, final long regionSize) throws IOException {
+        if (regionSize <= 0 || regionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid region size: " + regionSize);
+        }
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Makes sure the current region still has bytes, mapping the next one if needed
+     * @return {@code false} once the whole file was consumed
+     */
+    private boolean ensureRegion() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        if (nextRegionStart >= size) {
+            region = null;
+            return false;
+        }
+        long length = Math.min(regionSize, size - nextRegionStart);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, nextRegionStart, length);
+        nextRegionStart += length;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRegion()) {
+            return -1;
+        }
+        return region.get() & BYTE_MASK;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureRegion()) {
+            return -1;
+        }
+        int count = Math.min(length, region.remaining());
+        region.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return region == null ? 0 : region.remaining();
+    }
+
+    /**
+     * Drops the current mapping and closes the file channel
+     */
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+}
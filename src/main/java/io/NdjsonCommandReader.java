@@ -0,0 +1,50 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import entities.Command;
+
+import java.io.IOException;
+
+import static main.App.MAPPER;
+
+/**
+ * Streaming reader for newline-delimited JSON input, where every line holds one
+ * standalone command object. Blank lines and non-object values are skipped
+ */
+public final class NdjsonCommandReader implements CommandSource {
+    private final JsonParser parser;
+
+    /**
+     * @param parser a parser positioned before the first command line
+     */
+    public NdjsonCommandReader(final JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Reads the next root-level command object
+     * @return the next command, or {@code null} at the end of the input
+     * @throws IOException if a line is malformed
+     */
+    @Override
+    public Command next() throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                return JsonCommandBinder.bind(MAPPER.readTree(parser));
+            }
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+        return null;
+    }
+
+    /**
+     * Releases the underlying parser and input
+     */
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
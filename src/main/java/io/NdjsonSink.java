@@ -0,0 +1,39 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * {@link OutputSink} writing newline-delimited JSON: every result is a standalone,
+ * single-line JSON object terminated by a line feed, so the output can be appended
+ * to or followed with {@code tail -f} without rewriting an enclosing array.
+ * With a binary encoding, results are written back to back as a sequence of
+ * standalone items, without separator
+ */
+public final class NdjsonSink extends GeneratorSink {
+    private final boolean lineDelimited;
+
+    /**
+     * @param generator the generator writing to the output destination, any indentation
+     *                  is dropped since every result must fit on one line
+     * @param flushInterval number of results written between two flushes
+     * @param lineDelimited whether a line feed follows every result (text encodings)
+     */
+    public NdjsonSink(final JsonGenerator generator, final int flushInterval,
+                      final boolean lineDelimited) {
+        super(generator, flushInterval);
+        this.lineDelimited = lineDelimited;
+        if (lineDelimited) {
+            generator.setPrettyPrinter(null);
+            generator.setRootValueSeparator(null);
+        }
+    }
+
+    @Override
+    protected void afterResult() throws IOException {
+        if (lineDelimited) {
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+import static main.App.MAPPER;
+
+/**
+ * Encoding of the result output, independent of its {@link StreamFormat} framing.
+ * Every encoding is a Jackson {@link JsonGenerator}, so results and views are written
+ * the same way whichever is active:
+ * {@link #PRETTY} is the indented JSON expected by the reference tests,
+ * {@link #COMPACT} is single-line JSON without indentation whitespace and
+ * {@link #CBOR} is the binary RFC 8949 encoding, meant for machine consumers
+ */
+public enum OutputEncoding {
+    PRETTY,
+    COMPACT,
+    CBOR;
+
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    /**
+     * Creates a generator writing to the given file in this encoding
+     * @param outputFile the destination file
+     * @return the generator, closing the file when closed
+     * @throws IOException if the file cannot be created
+     */
+    public JsonGenerator createGenerator(final File outputFile) throws IOException {
+        if (this == CBOR) {
+            return CBOR_FACTORY.createGenerator(outputFile, JsonEncoding.UTF8);
+        }
+        JsonGenerator generator = MAPPER.getFactory()
+                .createGenerator(outputFile, JsonEncoding.UTF8);
+        if (this == PRETTY) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+    /**
+     * @return whether the encoding is text, results can then be separated by line feeds
+     */
+    public boolean isTextual() {
+        return this != CBOR;
+    }
+}
@@ -0,0 +1,29 @@
+package io;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+
+import static main.App.MAPPER;
+
+/**
+ * Destination for the results produced while handling commands (views, errors, reports).
+ * {@link entities.Command} only talks to this abstraction, so results can be streamed
+ * to their final destination as soon as they are produced instead of being buffered
+ */
+public interface OutputSink extends Closeable {
+    /**
+     * Emits one result rendered directly to the output generator.
+     * The writer is invoked before this method returns, so it may read live engine state
+     * @param writer the renderer of the result
+     */
+    void write(ResultWriter writer);
+
+    /**
+     * Emits one result already built as a JSON tree
+     * @param result the JSON object produced by a command
+     */
+    default void add(final ObjectNode result) {
+        write(generator -> MAPPER.writeTree(generator, result));
+    }
+}
@@ -0,0 +1,19 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Callback rendering one result straight to a {@link JsonGenerator},
+ * without building an intermediate {@code ObjectNode} tree
+ */
+@FunctionalInterface
+public interface ResultWriter {
+    /**
+     * Writes one complete JSON value
+     * @param generator the generator positioned where the result goes
+     * @throws IOException if the generator fails
+     */
+    void writeTo(JsonGenerator generator) throws IOException;
+}
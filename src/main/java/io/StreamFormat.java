@@ -0,0 +1,67 @@
+package io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static main.App.MAPPER;
+
+/**
+ * Framing of the command input and of the result output.
+ * {@link #JSON_ARRAY} is the single top-level array used by the reference tests,
+ * {@link #NDJSON} holds one standalone JSON object per line and {@link #BINARY} is the
+ * input only {@link BinaryCommandLog} encoding, converted from one of the JSON framings
+ */
+public enum StreamFormat {
+    JSON_ARRAY,
+    NDJSON,
+    BINARY;
+
+    /**
+     * Opens a streaming command source over the given input file
+     * @param inputFile the file holding the commands in this format
+     * @param memoryMapped whether the file is read through {@link MappedFileInputStream}
+     * @return the source, to be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public CommandSource openSource(final File inputFile, final boolean memoryMapped)
+            throws IOException {
+        if (this == BINARY) {
+            return new BinaryCommandReader(memoryMapped
+                    ? new MappedFileInputStream(inputFile) : new FileInputStream(inputFile));
+        }
+        JsonParser parser = memoryMapped
+                ? MAPPER.getFactory().createParser(new MappedFileInputStream(inputFile))
+                : MAPPER.getFactory().createParser(inputFile);
+        if (this == NDJSON) {
+            return new NdjsonCommandReader(parser);
+        }
+        return new JsonArrayCommandReader(parser);
+    }
+
+    /**
+     * Opens a streaming sink writing results in this format
+     * @param outputFile the destination file, parent folders are created if missing
+     * @param flushInterval number of results written between two flushes
+     * @param encoding the encoding of the results
+     * @return the sink, to be closed by the caller
+     * @throws IOException if the file cannot be created or the format is input only
+     */
+    public OutputSink openSink(final File outputFile, final int flushInterval,
+                               final OutputEncoding encoding) throws IOException {
+        if (this == BINARY) {
+            throw new IOException("the binary format only encodes input commands");
+        }
+        if (outputFile.getParentFile() != null) {
+            outputFile.getParentFile().mkdirs();
+        }
+        JsonGenerator generator = encoding.createGenerator(outputFile);
+        if (this == NDJSON) {
+            return new NdjsonSink(generator, flushInterval, encoding.isTextual());
+        }
+        return new JsonArraySink(generator, flushInterval);
+    }
+}
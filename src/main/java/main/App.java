@@ -2,18 +2,24 @@ package main;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import entities.Command;
 import entities.ExpertiseArea;
 import entities.Seniority;
 import entities.User;
+import io.CommandSource;
+import io.OutputSink;
+import utils.EngineContext;
 import utils.ErrLogger;
 import utils.PHASE;
 
@@ -32,9 +38,6 @@ public final class App {
 
     private static final String INPUT_USERS_FIELD = "input/database/users.json";
 
-    private static final ObjectWriter WRITER =
-            new ObjectMapper().writer().withDefaultPrettyPrinter();
-
     /**
      * Runs the application: reads commands from an input file,
      * processes them, generates results, and writes them to an output file
@@ -43,9 +46,18 @@ public final class App {
      * @param outputPath path to the file where results should be written
      */
     public static void run(final String inputPath, final String outputPath) {
-        ErrLogger.reset();
-        List<ObjectNode> outputs = new ArrayList<>();
+        run(inputPath, outputPath, RunOptions.defaults());
+    }
 
+    /**
+     * Same as above, with explicit run options
+     * @param inputPath path to the input file containing commands
+     * @param outputPath path to the file where results should be written
+     * @param options output and ingestion settings of this run
+     * @return the engine state left by the run, for inspection
+     */
+    public static EngineContext run(final String inputPath, final String outputPath,
+                                    final RunOptions options) {
         /*
             Load initial user data and commands. we strongly recommend using jackson library.
             you can use the reading from hw1 as a reference.
@@ -85,47 +97,79 @@ public final class App {
             System.out.println("Error: File not found");
             errorLogger.logException(e, "File not found: " + INPUT_USERS_FIELD);
         }
-        errorLogger.setUsers(users);
-        errorLogger.setPhase(PHASE.TESTING);
-        errorLogger.setTicketIdGlobal(0);
-        errorLogger.initializeTimeManager();
-        // processing commands
+        EngineContext context = new EngineContext();
+        context.setUsers(users);
+        context.setPhase(PHASE.TESTING);
+        context.setTicketIdGlobal(0);
+        context.initializeTimeManager();
+        // processing commands, streamed one at a time from the input
+        // and written to the output file as soon as each result is produced
         File inputFile = new File(inputPath);
-        ArrayList<Command> inputCommands = new ArrayList<>();
-        try {
-            JsonNode jsonNode = MAPPER.readTree(inputFile);
-            if (jsonNode.isArray()) {
-                for (JsonNode commandNode: jsonNode) {
-                    Command command = new Command();
-                    command.setCommand(commandNode.get("command").asText());
-                    command.setUsername(commandNode.get("username").asText());
-                    command.setTimestamp(commandNode.get("timestamp").asText());
-                    if (commandNode.has("params")) {
-                        command.unpackParams(commandNode.get("params"));
-                    }
-                    inputCommands.add(command);
-                    errorLogger.setInputCommands(inputCommands);
-                    errorLogger.setTimestamp(command.getTimestamp());
-                    command.handle(outputs, commandNode);
-                    System.out.println(command.toString());
-                    errorLogger.logException("From App Class: "
-                            + command.getTimestamp() + "----"
-                            + errorLogger.getPhase() + "----"
-                            + errorLogger.getTimeManager().getCurrentDateStr());
+        try (CommandSource reader = options.getInputFormat()
+                .openSource(inputFile, options.isMemoryMapped());
+             OutputSink outputs = options.getOutputFormat().openSink(new File(outputPath),
+                     options.getFlushInterval(), options.getOutputEncoding())) {
+            if (options.isPipelined()) {
+                new CommandPipeline(options.getPipelineCapacity()).run(reader, outputs,
+                        (command, sink) -> execute(command, sink, context));
+            } else {
+                Command command;
+                while ((command = reader.next()) != null) {
+                    execute(command, outputs, context);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error: File not found");
-            errorLogger.logException(e, "File not found: " + inputFile);
+            errorLogger.logException(e, "Failed to process " + inputFile
+                    + " into " + outputPath);
+        }
+        return context;
+    }
+
+    /**
+     * Runs independent scenarios concurrently, each one with its own {@link EngineContext}
+     * @param scenarios input file path mapped to the output file path of every scenario
+     * @param options output and ingestion settings shared by all the runs
+     * @param parallelism maximum number of scenarios running at the same time
+     */
+    public static void runAll(final Map<String, String> scenarios, final RunOptions options,
+                              final int parallelism) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        List<Future<?>> runs = new ArrayList<>();
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            runs.add(pool.submit(() -> run(scenario.getKey(), scenario.getValue(), options)));
         }
-        //created objectnodes for output, added them to outputs list.
-        errorLogger.close();
         try {
-            File outputFile = new File(outputPath);
-            outputFile.getParentFile().mkdirs();
-            WRITER.withDefaultPrettyPrinter().writeValue(outputFile, outputs);
-        } catch (IOException e) {
-            System.out.println("error writing to output file: " + e.getMessage());
+            for (Future<?> pending : runs) {
+                pending.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ErrLogger.getInstance().logException(e, "Scenario run failed");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Applies one command to the engine state, advancing the global time first
+     * @param command the command, bound with all of its inputs by the command source
+     * @param outputs the sink receiving the results of the command
+     * @param context the state of the current run
+     */
+    private static void execute(final Command command, final OutputSink outputs,
+                                final EngineContext context) {
+        command.setContext(context);
+        if (command.getParams() != null) {
+            command.unpackParams(command.getParams());
         }
+        context.setTimestamp(command.getTimestamp());
+        command.handle(outputs);
+        System.out.println(command.toString());
+        ErrLogger.getInstance().logException("From App Class: "
+                + command.getTimestamp() + "----"
+                + context.getPhase() + "----"
+                + context.getTimeManager().getCurrentDateStr());
     }
 }
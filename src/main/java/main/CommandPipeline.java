@@ -0,0 +1,186 @@
+package main;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import entities.Command;
+import io.CommandSource;
+import io.OutputSink;
+import io.ResultWriter;
+import utils.ErrLogger;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static main.App.MAPPER;
+
+/**
+ * Three stage pipeline running one engine execution: a parser thread turning the input
+ * into bound {@link Command}s, the calling thread executing them in input order
+ * (the only one touching the engine state, exactly as the sequential loop does)
+ * and a serializer thread writing the results to the final {@link OutputSink}.
+ * Results rendered by the executor are recorded into a {@link TokenBuffer}, a snapshot of
+ * the generator calls, which the serializer replays later against the real output.
+ * Stages are connected by bounded {@link ArrayBlockingQueue}s, i.e. ring buffers whose
+ * slots are preallocated, so a fast stage blocks instead of buffering the whole run
+ */
+final class CommandPipeline {
+    private static final Command END_OF_COMMANDS = new Command();
+    private static final ResultWriter END_OF_RESULTS = generator -> { };
+
+    private final BlockingQueue<Command> commands;
+    private final BlockingQueue<ResultWriter> results;
+    private volatile Exception failure;
+
+    /**
+     * Executor stage callback, applying one parsed command to the engine state
+     */
+    interface CommandExecutor {
+        /**
+         * @param command the command bound by the parser stage
+         * @param outputs the sink handing results over to the serializer stage
+         */
+        void execute(Command command, OutputSink outputs);
+    }
+
+    /**
+     * @param capacity number of slots of each inter-stage buffer
+     */
+    CommandPipeline(final int capacity) {
+        this.commands = new ArrayBlockingQueue<>(capacity);
+        this.results = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Runs the whole input through the three stages and returns once every result
+     * has been handed to the sink
+     * @param source the input commands
+     * @param sink the final destination of the results
+     * @param executor the executor stage, invoked on the calling thread
+     * @throws IOException if the parser stage could not read the input
+     * @throws RuntimeException the one raised by the parser stage, as the sequential loop
+     *         would propagate it
+     */
+    void run(final CommandSource source, final OutputSink sink,
+             final CommandExecutor executor) throws IOException {
+        Thread parser = new Thread(() -> parse(source), "command-parser");
+        Thread serializer = new Thread(() -> serialize(sink), "result-serializer");
+        parser.setDaemon(true);
+        serializer.setDaemon(true);
+        parser.start();
+        serializer.start();
+
+        OutputSink stageSink = new OutputSink() {
+            @Override
+            public void write(final ResultWriter writer) {
+                TokenBuffer snapshot = new TokenBuffer(MAPPER, false);
+                try {
+                    writer.writeTo(snapshot);
+                } catch (IOException e) {
+                    ErrLogger.getInstance().logException(e, "Failed to render result");
+                    return;
+                }
+                put(results, snapshot::serialize);
+            }
+
+            @Override
+            public void add(final ObjectNode result) {
+                put(results, generator -> MAPPER.writeTree(generator, result));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        boolean completed = false;
+        try {
+            Command next = take(commands);
+            while (next != END_OF_COMMANDS && next != null) {
+                executor.execute(next, stageSink);
+                next = take(commands);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                parser.interrupt();
+            }
+            put(results, END_OF_RESULTS);
+            join(parser);
+            join(serializer);
+        }
+        if (failure instanceof IOException ioFailure) {
+            throw ioFailure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Parser stage: reads the input and binds the commands, keeping the failure which
+     * ended it early for {@link #run} to rethrow
+     */
+    private void parse(final CommandSource source) {
+        try {
+            Command command;
+            while ((command = source.next()) != null) {
+                if (!put(commands, command)) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            put(commands, END_OF_COMMANDS);
+        }
+    }
+
+    /**
+     * Serializer stage: writes every result to the final sink, in production order
+     */
+    private void serialize(final OutputSink sink) {
+        ResultWriter result = take(results);
+        while (result != END_OF_RESULTS && result != null) {
+            try {
+                sink.write(result);
+            } catch (RuntimeException e) {
+                ErrLogger.getInstance().logException(e, "Failed to serialize result");
+            }
+            result = take(results);
+        }
+    }
+
+    /**
+     * Blocking put, giving up if the current stage is interrupted
+     * @return {@code false} if the element could not be handed over
+     */
+    private static <T> boolean put(final BlockingQueue<T> queue, final T element) {
+        try {
+            queue.put(element);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Blocking take, returning {@code null} if the current stage is interrupted
+     */
+    private static <T> T take(final BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void join(final Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package main;
+
+import io.OutputEncoding;
+import io.StreamFormat;
+import lombok.Getter;
+
+/**
+ * Immutable set of options for one {@link App#run(String, String, RunOptions)} execution.
+ * Instances are created through the inner {@link Builder}, every option having a default
+ * matching the behaviour expected by the reference tests
+ */
+public final class RunOptions {
+    public static final int DEFAULT_FLUSH_INTERVAL = 64;
+    public static final int DEFAULT_PIPELINE_CAPACITY = 1024;
+
+    @Getter
+    private final int flushInterval;
+    @Getter
+    private final StreamFormat inputFormat;
+    @Getter
+    private final StreamFormat outputFormat;
+    @Getter
+    private final OutputEncoding outputEncoding;
+    @Getter
+    private final boolean memoryMapped;
+    @Getter
+    private final boolean pipelined;
+    @Getter
+    private final int pipelineCapacity;
+
+    private RunOptions(final Builder builder) {
+        this.flushInterval = builder.flushInterval;
+        this.inputFormat = builder.inputFormat;
+        this.outputFormat = builder.outputFormat;
+        this.outputEncoding = builder.outputEncoding;
+        this.memoryMapped = builder.memoryMapped;
+        this.pipelined = builder.pipelined;
+        this.pipelineCapacity = builder.pipelineCapacity;
+    }
+
+    /**
+     * @return the options used when none are given explicitly
+     */
+    public static RunOptions defaults() {
+        return new Builder().build();
+    }
+
+    /**
+     * Builder class used to construct {@link RunOptions} instances
+     */
+    public static class Builder {
+        private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+        private StreamFormat inputFormat = StreamFormat.JSON_ARRAY;
+        private StreamFormat outputFormat = StreamFormat.JSON_ARRAY;
+        private OutputEncoding outputEncoding = OutputEncoding.PRETTY;
+        private boolean memoryMapped = false;
+        private boolean pipelined = false;
+        private int pipelineCapacity = DEFAULT_PIPELINE_CAPACITY;
+
+        /**
+         * Sets how many results are written between two flushes of the output file
+         * @param flushIntervall number of results, {@code 0} to flush only at the end
+         * @return the current builder instance
+         */
+        public Builder flushInterval(final int flushIntervall) {
+            this.flushInterval = flushIntervall;
+            return this;
+        }
+
+        /**
+         * Sets the framing of the command input (JSON array or NDJSON)
+         * @param inputFormatt the input format
+         * @return the current builder instance
+         */
+        public Builder inputFormat(final StreamFormat inputFormatt) {
+            this.inputFormat = inputFormatt;
+            return this;
+        }
+
+        /**
+         * Sets the framing of the result output (JSON array or NDJSON)
+         * @param outputFormatt the output format
+         * @return the current builder instance
+         */
+        public Builder outputFormat(final StreamFormat outputFormatt) {
+            this.outputFormat = outputFormatt;
+            return this;
+        }
+
+        /**
+         * Sets the encoding of the results (indented JSON, single-line JSON or CBOR)
+         * @param outputEncodingg the output encoding
+         * @return the current builder instance
+         */
+        public Builder outputEncoding(final OutputEncoding outputEncodingg) {
+            this.outputEncoding = outputEncodingg;
+            return this;
+        }
+
+        /**
+         * Sets whether the command file is read through memory-mapped regions
+         * instead of a regular file stream, meant for large replay logs
+         * @param memoryMappedd {@code true} to map the input file
+         * @return the current builder instance
+         */
+        public Builder memoryMapped(final boolean memoryMappedd) {
+            this.memoryMapped = memoryMappedd;
+            return this;
+        }
+
+        /**
+         * Sets whether parsing, execution and serialization run as three pipelined
+         * threads instead of one after another on the calling thread
+         * @param pipelinedd {@code true} to enable the pipeline
+         * @return the current builder instance
+         */
+        public Builder pipelined(final boolean pipelinedd) {
+            this.pipelined = pipelinedd;
+            return this;
+        }
+
+        /**
+         * Sets the number of slots of each buffer between two pipeline stages
+         * @param pipelineCapacityy the buffer capacity, at least 1
+         * @return the current builder instance
+         */
+        public Builder pipelineCapacity(final int pipelineCapacityy) {
+            this.pipelineCapacity = pipelineCapacityy;
+            return this;
+        }
+
+        /**
+         * @return a new {@link RunOptions} instance
+         */
+        public RunOptions build() {
+            return new RunOptions(this);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package utils;
+
+import entities.Milestone;
+import entities.User;
+import entities.filters.QueryPlan;
+import entities.filters.QueryPlanner;
+import entities.filters.TicketBitmaps;
+import entities.filters.TicketSearchResult;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static utils.ErrLogger.INT12;
+
+/**
+ * State of one engine execution: users indexed by username, milestones, the ticket id
+ * sequence, store and indexes, the search planner with the plan of the last ticket search
+ * kept for inspection, the cache of the ticket search results, the current timestamp and
+ * phase, and the {@link TimeManager} advancing them day by day.
+ * Each {@link main.App#run(String, String)} owns its own instance, handed to the commands,
+ * tickets and milestones it creates, so independent runs can execute concurrently.
+ * An instance is confined to the thread executing its commands and is not thread safe
+ */
+public final class EngineContext {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int SEARCH_CACHE_CAPACITY = 256;
+
+    @Getter
+    private String globalTimestamp;
+    @Getter @Setter
+    private LocalDate phaseStartDate;
+    @Getter @Setter
+    private TimeManager timeManager = new TimeManager();
+    @Setter @Getter
+    private int ticketIdGlobal;
+    private final UserRegistry userRegistry = new UserRegistry();
+    private final List<User> users = userRegistry.asList();
+    @Getter @Setter
+    private PHASE phase = PHASE.TESTING;
+    @Getter
+    private final MilestoneRegistry milestoneRegistry = new MilestoneRegistry();
+    private final List<Milestone> milestones = milestoneRegistry.asList();
+    @Getter
+    private final TicketStore tickets = new TicketStore();
+    @Getter
+    private final TicketIndex ticketIndex = new TicketIndex(tickets);
+    @Getter
+    private final KeywordIndex keywordIndex = new KeywordIndex(tickets);
+    @Getter
+    private final TicketBitmaps ticketBitmaps =
+            new TicketBitmaps(tickets, ticketIndex, keywordIndex);
+    @Getter
+    private final QueryPlanner queryPlanner =
+            new QueryPlanner(tickets, ticketIndex, keywordIndex, ticketBitmaps);
+    @Getter @Setter
+    private QueryPlan lastSearchPlan;
+    @Getter
+    private final VersionedCache<List<String>, TicketSearchResult> searchCache =
+            new VersionedCache<>(SEARCH_CACHE_CAPACITY);
+
+    /**
+     * Update global Timestamp of the run, wrapping logic for changing the current state
+     * @param timestamp is the new timestamp, parsed from the command loop
+     * It notifies the {@link TimeManager} to update users and milestones
+     */
+    public void setTimestamp(final String timestamp) {
+        this.globalTimestamp = timestamp;
+        if (timeManager != null && milestones != null && users != null) {
+            timeManager.updateDate(timestamp, milestones, users);
+        }
+        LocalDate currentDate = LocalDate.parse(timestamp, FORMATTER);
+
+        if (phaseStartDate == null) {
+            phaseStartDate = currentDate;
+            return;
+        }
+
+        long daysBetween = ChronoUnit.DAYS.between(phaseStartDate, currentDate);
+
+        if (daysBetween >= INT12) {
+            phase = phase.next();
+            phaseStartDate = currentDate;
+        }
+    }
+
+    /**
+     * Replaces the users of the run, indexing them by username
+     * @param loadedUsers the users, in loading order
+     */
+    public void setUsers(final List<User> loadedUsers) {
+        userRegistry.clear();
+        for (User user : loadedUsers) {
+            userRegistry.add(user);
+        }
+    }
+
+    /**
+     * Registers a user joining the run after the initial loading
+     * @param user the new user
+     */
+    public void addUser(final User user) {
+        userRegistry.add(user);
+    }
+
+    /**
+     * Returns the users of the run, in loading order
+     * @return a read-only live view of the users
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Resolves a user of the run from its username
+     * @param username the username, may be {@code null}
+     * @return the user, or {@code null} if no user has this username
+     */
+    public User getUser(final String username) {
+        return userRegistry.get(username);
+    }
+
+    /**
+     * Returns the milestones of the run, in creation order
+     * @return a read-only live view of the milestones
+     */
+    public List<Milestone> getMilestones() {
+        return milestones;
+    }
+
+    /**
+     * Registers a created milestone and the tickets it groups
+     * @param milestone the new milestone
+     */
+    public void addMilestone(final Milestone milestone) {
+        milestoneRegistry.add(milestone);
+    }
+
+    /**
+     * Returns the version of the state ticket searches depend on, bumped by every change of
+     * a ticket and every registration or blocking change of a milestone
+     * @return the version, to validate the entries of the search cache
+     */
+    public long searchStateVersion() {
+        return tickets.version() + milestoneRegistry.version();
+    }
+
+    /**
+     * Returns the current date of the run as maintained by the {@link TimeManager}
+     */
+    public String getCurrentDate() {
+        return timeManager.getCurrentDateStr();
+    }
+
+    /**
+     * Initializes the {@link TimeManager} with the current users and milestones
+     */
+    public void initializeTimeManager() {
+        timeManager.setMilestones(milestones);
+        timeManager.setUsers(users);
+    }
+}
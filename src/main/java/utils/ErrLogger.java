@@ -1,25 +1,15 @@
 package utils;
 
-import entities.Command;
-import entities.Milestone;
-import entities.User;
-import lombok.Getter;
-import lombok.Setter;
-
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
- * Utility Singleton class responsible for centralized error logging and
- * global time/phase management within the application. It holds application wide
- * timestamps, phase transitions based on elapsed time, logging of exceptions and
- * custom messages to a file
+ * Utility Singleton class responsible for centralized error logging of exceptions and
+ * custom messages to a file, along with the constants shared by the engine.
+ * The engine state itself lives in {@link EngineContext}, one per run; the logger is
+ * shared by all runs of the process, so writing to it is synchronized, and it is closed
+ * once at process exit
  */
 public final class ErrLogger {
     /* Constants for math logic and metadata defining */
@@ -44,63 +34,20 @@ public final class ErrLogger {
     public static final double DBL0_3 = 0.3;
     public static final double DBL0_7 = 0.7;
 
-    @Getter
-    private String globalTimestamp;
     private static ErrLogger singleInstance;
     private PrintWriter writer;
     private boolean writerInit = false;
-    @Getter @Setter
-    private LocalDate phaseStartDate;
-    @Getter @Setter
-    private TimeManager timeManager = new TimeManager();
-    @Setter @Getter
-    private int ticketIdGlobal;
-    @Setter @Getter
-    private List<User> users;
-    @Getter @Setter
-    private PHASE phase = PHASE.TESTING;
-    @Setter @Getter
-    private List<Command> inputCommands;
-    @Getter @Setter
-    private List<Milestone> milestones = new ArrayList<>();
-
-    /**
-     * Update global Timestamp of the App, wrapping logic for changing the current state
-     * @param timestamp is the new timestamp, parsed from the command loop
-     * {@link main.App#run(String, String)}
-     * It notifies the {@link TimeManager} to update users and milestones
-     */
-    public void setTimestamp(final String timestamp) {
-        this.globalTimestamp = timestamp;
-        if (timeManager != null && milestones != null && users != null) {
-            timeManager.updateDate(timestamp, milestones, users);
-        }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDate currentDate = LocalDate.parse(timestamp, formatter);
-
-        if (phaseStartDate == null) {
-            phaseStartDate = currentDate;
-            return;
-        }
-
-        long daysBetween = ChronoUnit.DAYS.between(phaseStartDate, currentDate);
-
-        if (daysBetween >= INT12) {
-            phase = phase.next();
-            phaseStartDate = currentDate;
-        }
-
-    }
 
     /**
      * Private constructor without parameters
-     * Initializes the log file writer in append mode.
+     * Initializes the log file writer in append mode, to be closed at process exit.
      * If the file cannot be opened, logging is silently disabled.
      */
     private ErrLogger() {
         try {
             writer = new PrintWriter(new FileWriter(LOG_FILE_PATH, true));
             writerInit = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close));
         } catch (IOException e) {
             writerInit = false;
         }
@@ -109,30 +56,19 @@ public final class ErrLogger {
     /**
      * Singleton helper with lazy initialization, returns the unique instance {@code ErrLogger}
      */
-    public static ErrLogger getInstance() {
+    public static synchronized ErrLogger getInstance() {
         if (singleInstance == null) {
             singleInstance = new ErrLogger();
         }
         return singleInstance;
     }
 
-    /**
-     * Reset helper for Singleton unique instance, to use it at each new independent test parsing
-     * {@see main.App#run(String, String)}
-     */
-    public static void reset() {
-        if (singleInstance != null) {
-            singleInstance.close();
-        }
-        singleInstance = null;
-    }
-
     /**
      * Writes to the logFile the stackTrace with a message of a user for explicity increase
      * @param e the exception whose stack trace will be logged
      * @param message a custom message describing the context of the error
      */
-    public void logException(final Exception e, final String message) {
+    public synchronized void logException(final Exception e, final String message) {
         if (!writerInit) {
             return;
         }
@@ -145,7 +81,7 @@ public final class ErrLogger {
     /**
      * Writes a custom message to the error log file without an exception
      */
-    public void logException(final String message) {
+    public synchronized void logException(final String message) {
         if (!writerInit) {
             return;
         }
@@ -157,7 +93,7 @@ public final class ErrLogger {
     /**
      * Safely closes the log file writer and releases all associated resources
      */
-    public void close() {
+    private synchronized void close() {
         if (!writerInit) {
             return;
         }
@@ -171,19 +107,4 @@ public final class ErrLogger {
             }
         }
     }
-
-    /**
-     * Returns the current application date as maintained by the {@link TimeManager}
-     */
-    public String getCurrentDate() {
-        return timeManager.getCurrentDateStr();
-    }
-
-    /**
-     * Initializes the {@link TimeManager} with the current users and milestones
-     */
-    public void initializeTimeManager() {
-        timeManager.setMilestones(milestones);
-        timeManager.setUsers(users);
-    }
 }
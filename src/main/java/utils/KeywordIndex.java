@@ -0,0 +1,139 @@
+package utils;
+
+import entities.Ticket;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from the words of the ticket titles and descriptions to the ids of the
+ * tickets containing them, kept up to date as one of the {@link TicketListener}s of a
+ * {@link TicketStore}. Titles and descriptions never change once reported.
+ * Keyword filters match substrings, not whole words: a keyword without whitespace is
+ * contained in a text exactly when it is contained in one of its whitespace separated
+ * words, so a keyword resolves to the union of the postings of the distinct words
+ * containing it, scanning the vocabulary instead of every ticket. Keywords holding
+ * whitespace fall back to scanning the texts.
+ * Words are kept both as written, for the case-sensitive filters, and lowercased, for
+ * the matching words reported to managers
+ */
+public final class KeywordIndex implements TicketListener {
+    private static final Pattern SEPARATOR = Pattern.compile("\\s+");
+
+    private final TicketStore store;
+    private final Map<String, BitSet> idsByWord = new HashMap<>();
+    private final Map<String, BitSet> idsByLowerWord = new HashMap<>();
+
+    /**
+     * Creates the index of a store, subscribing it to its changes
+     * @param store the store owning the indexed tickets
+     */
+    public KeywordIndex(final TicketStore store) {
+        this.store = store;
+        store.subscribe(this);
+    }
+
+    @Override
+    public void ticketAdded(final Ticket ticket) {
+        index(ticket.getTitle(), ticket.getId());
+        index(ticket.getDescription(), ticket.getId());
+    }
+
+    /**
+     * Adds the words of a text, as written and lowercased, to the postings
+     */
+    private void index(final String text, final int id) {
+        if (text == null) {
+            return;
+        }
+        for (String word : SEPARATOR.split(text)) {
+            if (!word.isEmpty()) {
+                idsByWord.computeIfAbsent(word, key -> new BitSet()).set(id);
+            }
+        }
+        for (String word : SEPARATOR.split(text.toLowerCase())) {
+            if (!word.isEmpty()) {
+                idsByLowerWord.computeIfAbsent(word, key -> new BitSet()).set(id);
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct words, as written, a keyword lookup scans
+     */
+    public int vocabularySize() {
+        return idsByWord.size();
+    }
+
+    /**
+     * @param keywords the keywords, matched case-sensitively
+     * @return the ids of the tickets whose title or description contains any of the
+     *         keywords, as a modifiable set
+     */
+    public BitSet idsContainingAny(final List<String> keywords) {
+        BitSet result = new BitSet();
+        for (String keyword : keywords) {
+            result.or(lookup(idsByWord, keyword, false));
+        }
+        return result;
+    }
+
+    /**
+     * @param keyword the keyword, matched ignoring case
+     * @return the ids of the tickets whose title or description contains the keyword,
+     *         as a modifiable set
+     */
+    public BitSet idsContainingIgnoreCase(final String keyword) {
+        return lookup(idsByLowerWord, keyword.toLowerCase(), true);
+    }
+
+    /**
+     * Unions the postings of the words containing the keyword
+     */
+    private BitSet lookup(final Map<String, BitSet> postings, final String keyword,
+                          final boolean ignoreCase) {
+        if (keyword.isEmpty() || SEPARATOR.matcher(keyword).find()) {
+            return scan(keyword, ignoreCase);
+        }
+        BitSet result = new BitSet();
+        BitSet exact = postings.get(keyword);
+        if (exact != null) {
+            result.or(exact);
+        }
+        for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+            if (entry.getKey().length() > keyword.length()
+                    && entry.getKey().contains(keyword)) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches the keyword against the texts of every ticket
+     */
+    private BitSet scan(final String keyword, final boolean ignoreCase) {
+        BitSet result = new BitSet();
+        for (Ticket ticket : store) {
+            if (contains(ticket.getTitle(), keyword, ignoreCase)
+                    || contains(ticket.getDescription(), keyword, ignoreCase)) {
+                result.set(ticket.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches a keyword against a text; ignoring case, a missing text counts as empty
+     */
+    private static boolean contains(final String text, final String keyword,
+                                    final boolean ignoreCase) {
+        if (!ignoreCase) {
+            return text != null && text.contains(keyword);
+        }
+        return (text == null ? "" : text.toLowerCase()).contains(keyword);
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import entities.Milestone;
+import entities.Ticket;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the milestones of a run, in creation order, with a reverse index from a
+ * ticket id to the milestone owning it, and a membership index from a developer to the
+ * milestones they are assigned to, along with the union of the ticket ids of those.
+ * Milestones are also registered by name, so that the {@code blockingFor} edges are
+ * resolved when followed, and an edge towards a milestone created later reaches it, as a
+ * scan by name would.
+ * A ticket may be listed by several milestones, the owner is then the first one created,
+ * as a scan of the milestones in creation order would find it.
+ * Two owners are kept per ticket: the one declaring its id, and the one which resolved the
+ * ticket itself, i.e. for which the ticket already existed when the milestone was created.
+ * A version counter is bumped by every registration and blocking change
+ */
+public final class MilestoneRegistry {
+    private final List<Milestone> milestones = new ArrayList<>();
+    private final Map<Milestone, Integer> positions = new IdentityHashMap<>();
+    private final Map<String, List<Milestone>> milestonesByName = new HashMap<>();
+    private final Map<Integer, Milestone> ownerByTicketId = new HashMap<>();
+    private final Map<Integer, Milestone> ownerByResolvedTicket = new HashMap<>();
+    private final Map<String, List<Milestone>> milestonesByDev = new HashMap<>();
+    private final Map<String, BitSet> ticketIdsByDev = new HashMap<>();
+    private long version;
+
+    /**
+     * Registers a created milestone, indexing the tickets it groups
+     * @param milestone the milestone, with its tickets already resolved
+     */
+    public void add(final Milestone milestone) {
+        version++;
+        positions.put(milestone, milestones.size());
+        milestones.add(milestone);
+        milestonesByName.computeIfAbsent(milestone.getName(), key -> new ArrayList<>())
+                .add(milestone);
+        if (milestone.getTickets() != null) {
+            for (int ticketId : milestone.getTickets()) {
+                ownerByTicketId.putIfAbsent(ticketId, milestone);
+            }
+        }
+        for (Ticket ticket : milestone.getMilestoneTickets()) {
+            ownerByResolvedTicket.putIfAbsent(ticket.getId(), milestone);
+        }
+        if (milestone.getAssignedDevs() != null) {
+            for (String dev : milestone.getAssignedDevs()) {
+                indexMembership(dev, milestone);
+            }
+        }
+    }
+
+    /**
+     * Records that a milestone was blocked or unblocked
+     * @param milestone the milestone, already holding its new blocked state
+     */
+    public void blockingChanged(final Milestone milestone) {
+        version++;
+    }
+
+    /**
+     * @return the number of registrations and blocking changes so far
+     */
+    public long version() {
+        return version;
+    }
+
+    private void indexMembership(final String dev, final Milestone milestone) {
+        List<Milestone> devMilestones = milestonesByDev
+                .computeIfAbsent(dev, key -> new ArrayList<>());
+        if (!devMilestones.isEmpty() && devMilestones.get(devMilestones.size() - 1) == milestone) {
+            return;
+        }
+        devMilestones.add(milestone);
+        if (milestone.getTickets() != null) {
+            BitSet ticketIds = ticketIdsByDev.computeIfAbsent(dev, key -> new BitSet());
+            for (int ticketId : milestone.getTickets()) {
+                if (ticketId >= 0) {
+                    ticketIds.set(ticketId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the milestone declaring a ticket id
+     * @param ticketId the ticket id
+     * @return the first milestone created with this id, or {@code null} if none
+     */
+    public Milestone findByTicketId(final int ticketId) {
+        return ownerByTicketId.get(ticketId);
+    }
+
+    /**
+     * Finds the milestone grouping an existing ticket, for assignment checks
+     * @param ticketId the ticket id
+     * @return the first milestone created after the ticket and listing it,
+     *         or {@code null} if none
+     */
+    public Milestone findByResolvedTicket(final int ticketId) {
+        return ownerByResolvedTicket.get(ticketId);
+    }
+
+    /**
+     * Finds the milestones registered under a name
+     * @param name the milestone name
+     * @return a read-only view of the milestones, in creation order
+     */
+    public List<Milestone> findAllByName(final String name) {
+        List<Milestone> named = milestonesByName.get(name);
+        return named == null ? List.of() : Collections.unmodifiableList(named);
+    }
+
+    /**
+     * Finds the first milestone created under a name
+     * @param name the milestone name
+     * @return the milestone, or {@code null} if none has this name
+     */
+    public Milestone findByName(final String name) {
+        List<Milestone> named = milestonesByName.get(name);
+        return named == null ? null : named.get(0);
+    }
+
+    /**
+     * Returns the creation rank of a registered milestone
+     * @param milestone the milestone
+     * @return its position in creation order, or -1 if it is not registered
+     */
+    public int positionOf(final Milestone milestone) {
+        Integer position = positions.get(milestone);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Finds the milestones a developer is assigned to
+     * @param dev the developer username
+     * @return a read-only view of the milestones, in creation order
+     */
+    public List<Milestone> findByDeveloper(final String dev) {
+        List<Milestone> devMilestones = milestonesByDev.get(dev);
+        return devMilestones == null ? List.of() : Collections.unmodifiableList(devMilestones);
+    }
+
+    /**
+     * Checks whether a developer is assigned to a milestone
+     * @param dev the developer username
+     * @param milestone the milestone
+     * @return true if the developer is listed in the assigned devs of the milestone
+     */
+    public boolean isAssigned(final String dev, final Milestone milestone) {
+        for (Milestone devMilestone : findByDeveloper(dev)) {
+            if (devMilestone == milestone) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ids of the tickets grouped by the milestones of a developer
+     * @param dev the developer username
+     * @return the ticket ids, as a copy the caller may modify
+     */
+    public BitSet findTicketIdsByDeveloper(final String dev) {
+        BitSet ticketIds = ticketIdsByDev.get(dev);
+        return ticketIds == null ? new BitSet() : (BitSet) ticketIds.clone();
+    }
+
+    /**
+     * @return a read-only live view of the milestones, in creation order
+     */
+    public List<Milestone> asList() {
+        return Collections.unmodifiableList(milestones);
+    }
+}
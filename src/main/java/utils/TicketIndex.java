@@ -0,0 +1,308 @@
+package utils;
+
+import entities.BussinessPriority;
+import entities.Status;
+import entities.Ticket;
+import entities.TicketAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes over the tickets of a {@link TicketStore}, kept up to date as one of
+ * its {@link TicketListener}s.
+ * For every status, business priority and type, the set of the ids of the tickets having
+ * it is kept, updated by {@link Ticket#setStatus(Status)} and
+ * {@link Ticket#setBusinessPriority(BussinessPriority)}.
+ * The tickets of every reporter are also kept in view order, creation date then id, and
+ * the ids of the tickets every actor appears in the history of are kept per actor.
+ * Finally, all the tickets are kept sorted by creation epoch day, then id, so that a date
+ * range resolves to a contiguous slice found by binary search. As long as the tickets are
+ * reported in chronological order, id order is also view order and resolved tickets need
+ * no sort
+ */
+public final class TicketIndex implements TicketListener {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TicketStore store;
+    private final Map<Status, BitSet> idsByStatus = new EnumMap<>(Status.class);
+    private final Map<BussinessPriority, BitSet> idsByPriority =
+            new EnumMap<>(BussinessPriority.class);
+    private final Map<String, BitSet> idsByType = new HashMap<>();
+    private final Map<String, List<Ticket>> ticketsByReporter = new HashMap<>();
+    private final Map<String, BitSet> idsByActor = new HashMap<>();
+    private long[] creationDays = new long[INITIAL_CAPACITY];
+    private Ticket[] byCreation = new Ticket[INITIAL_CAPACITY];
+    private int created;
+    private boolean chronological = true;
+
+    /**
+     * Creates the indexes of a store, subscribing them to its changes
+     * @param store the store owning the indexed tickets
+     */
+    public TicketIndex(final TicketStore store) {
+        this.store = store;
+        store.subscribe(this);
+    }
+
+    @Override
+    public void ticketAdded(final Ticket ticket) {
+        int id = ticket.getId();
+        if (ticket.getStatus() != null) {
+            idsByStatus.computeIfAbsent(ticket.getStatus(), key -> new BitSet()).set(id);
+        }
+        if (ticket.getBusinessPriority() != null) {
+            idsByPriority.computeIfAbsent(ticket.getBusinessPriority(), key -> new BitSet())
+                    .set(id);
+        }
+        if (ticket.getType() != null) {
+            idsByType.computeIfAbsent(ticket.getType(), key -> new BitSet()).set(id);
+        }
+        if (!ticket.getReportedBy().isEmpty()) {
+            insertInViewOrder(ticketsByReporter.computeIfAbsent(ticket.getReportedBy(),
+                    key -> new ArrayList<>()), ticket);
+        }
+        for (TicketAction action : ticket.getHistory()) {
+            actionRecorded(ticket, action);
+        }
+        insertByCreation(ticket);
+    }
+
+    /**
+     * Inserts a ticket in the creation date index, searching its position from the end
+     */
+    private void insertByCreation(final Ticket ticket) {
+        if (created == byCreation.length) {
+            creationDays = Arrays.copyOf(creationDays, created * 2);
+            byCreation = Arrays.copyOf(byCreation, created * 2);
+        }
+        long day = ticket.getCreatedEpochDay();
+        int position = created;
+        while (position > 0 && (creationDays[position - 1] > day
+                || (creationDays[position - 1] == day
+                && byCreation[position - 1].getId() > ticket.getId()))) {
+            position--;
+        }
+        if (position < created) {
+            chronological = false;
+            System.arraycopy(creationDays, position, creationDays, position + 1,
+                    created - position);
+            System.arraycopy(byCreation, position, byCreation, position + 1,
+                    created - position);
+        }
+        creationDays[position] = day;
+        byCreation[position] = ticket;
+        created++;
+    }
+
+    /**
+     * Finds the first position of the creation index holding a day not before the given one
+     */
+    private int lowerBound(final long day) {
+        int low = 0;
+        int high = created;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (creationDays[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts a ticket in a list kept in view order; tickets are mostly reported in
+     * chronological order, so the position is searched from the end
+     */
+    private static void insertInViewOrder(final List<Ticket> ordered, final Ticket ticket) {
+        Comparator<Ticket> order = Ticket.getViewComparator();
+        int position = ordered.size();
+        while (position > 0 && order.compare(ordered.get(position - 1), ticket) > 0) {
+            position--;
+        }
+        ordered.add(position, ticket);
+    }
+
+    @Override
+    public void statusChanged(final Ticket ticket, final Status oldStatus) {
+        if (oldStatus != null) {
+            idsByStatus.get(oldStatus).clear(ticket.getId());
+        }
+        if (ticket.getStatus() != null) {
+            idsByStatus.computeIfAbsent(ticket.getStatus(), key -> new BitSet())
+                    .set(ticket.getId());
+        }
+    }
+
+    @Override
+    public void priorityChanged(final Ticket ticket, final BussinessPriority oldPriority) {
+        if (oldPriority != null) {
+            idsByPriority.get(oldPriority).clear(ticket.getId());
+        }
+        if (ticket.getBusinessPriority() != null) {
+            idsByPriority.computeIfAbsent(ticket.getBusinessPriority(), key -> new BitSet())
+                    .set(ticket.getId());
+        }
+    }
+
+    /**
+     * @param statuses the wanted statuses
+     * @return the ids of the tickets having any of the statuses, as a modifiable copy
+     */
+    public BitSet idsWithStatus(final Status... statuses) {
+        BitSet result = new BitSet();
+        for (Status status : statuses) {
+            BitSet matching = idsByStatus.get(status);
+            if (matching != null) {
+                result.or(matching);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param priority the wanted business priority
+     * @return the ids of the tickets having the priority, as a modifiable copy
+     */
+    public BitSet idsWithPriority(final BussinessPriority priority) {
+        BitSet matching = idsByPriority.get(priority);
+        return matching == null ? new BitSet() : (BitSet) matching.clone();
+    }
+
+    /**
+     * @param priority the wanted business priority
+     * @return the number of tickets having the priority
+     */
+    public int countWithPriority(final BussinessPriority priority) {
+        BitSet matching = idsByPriority.get(priority);
+        return matching == null ? 0 : matching.cardinality();
+    }
+
+    /**
+     * @param type the wanted ticket type
+     * @return the ids of the tickets of the type, as a modifiable copy
+     */
+    public BitSet idsWithType(final String type) {
+        BitSet matching = idsByType.get(type);
+        return matching == null ? new BitSet() : (BitSet) matching.clone();
+    }
+
+    /**
+     * @param type the wanted ticket type
+     * @return the number of tickets of the type
+     */
+    public int countWithType(final String type) {
+        BitSet matching = idsByType.get(type);
+        return matching == null ? 0 : matching.cardinality();
+    }
+
+    @Override
+    public void actionRecorded(final Ticket ticket, final TicketAction action) {
+        if (action.getBy() == null) {
+            return;
+        }
+        idsByActor.computeIfAbsent(action.getBy(), key -> new BitSet()).set(ticket.getId());
+    }
+
+    /**
+     * Forgets the actors who no longer appear in the history of the ticket
+     */
+    @Override
+    public void historyTruncated(final Ticket ticket, final Set<String> actors) {
+        for (String actor : actors) {
+            boolean stillActing = ticket.getHistory().stream()
+                    .anyMatch(action -> actor.equals(action.getBy()));
+            BitSet touched = idsByActor.get(actor);
+            if (!stillActing && touched != null) {
+                touched.clear(ticket.getId());
+            }
+        }
+    }
+
+    /**
+     * @param actor the username of the actor
+     * @return the ids of the tickets the actor appears in the history of,
+     *         as a modifiable copy
+     */
+    public BitSet idsTouchedBy(final String actor) {
+        BitSet touched = idsByActor.get(actor);
+        return touched == null ? new BitSet() : (BitSet) touched.clone();
+    }
+
+    /**
+     * @param reporter the username of the reporter
+     * @return a read-only view of the tickets reported by the user, in view order
+     */
+    public List<Ticket> reportedBy(final String reporter) {
+        List<Ticket> reported = ticketsByReporter.get(reporter);
+        return reported == null ? List.of() : Collections.unmodifiableList(reported);
+    }
+
+    /**
+     * @param fromDay first creation epoch day of the range, inclusive
+     * @param toDay last creation epoch day of the range, inclusive
+     * @return the ids of the tickets created within the range, as a modifiable copy
+     */
+    public BitSet idsCreatedBetween(final long fromDay, final long toDay) {
+        BitSet result = new BitSet();
+        if (fromDay > toDay) {
+            return result;
+        }
+        int end = upperBound(toDay);
+        for (int position = lowerBound(fromDay); position < end; position++) {
+            result.set(byCreation[position].getId());
+        }
+        return result;
+    }
+
+    /**
+     * @param fromDay first creation epoch day of the range, inclusive
+     * @param toDay last creation epoch day of the range, inclusive
+     * @return the number of tickets created within the range, found by binary search
+     */
+    public int countCreatedBetween(final long fromDay, final long toDay) {
+        if (fromDay > toDay) {
+            return 0;
+        }
+        return upperBound(toDay) - lowerBound(fromDay);
+    }
+
+    /**
+     * Finds the first position of the creation index holding a day after the given one
+     */
+    private int upperBound(final long day) {
+        return day == Long.MAX_VALUE ? created : lowerBound(day + 1);
+    }
+
+    /**
+     * @return whether the tickets were reported in chronological order, id order then
+     *         being view order
+     */
+    public boolean isChronological() {
+        return chronological;
+    }
+
+    /**
+     * Resolves a set of ids into their tickets, in view order
+     * @param ticketIds the ids, as returned by the index queries
+     * @return the tickets, by creation date then id
+     */
+    public List<Ticket> resolveInViewOrder(final BitSet ticketIds) {
+        List<Ticket> resolved = store.resolve(ticketIds);
+        if (!chronological) {
+            resolved.sort(Ticket.getViewComparator());
+        }
+        return resolved;
+    }
+
+}
@@ -0,0 +1,50 @@
+package utils;
+
+import entities.BussinessPriority;
+import entities.Status;
+import entities.Ticket;
+import entities.TicketAction;
+
+import java.util.Set;
+
+/**
+ * Subscriber to the changes of the tickets owned by a {@link TicketStore}, such as indexes
+ * and caches. Every hook is invoked after the change is applied to the ticket, and only
+ * for tickets added to the store; hooks a subscriber has no use for can be left out
+ */
+public interface TicketListener {
+
+    /**
+     * @param ticket the ticket just added to the store
+     */
+    default void ticketAdded(final Ticket ticket) {
+    }
+
+    /**
+     * @param ticket the ticket, already holding its new status
+     * @param oldStatus the status it had before
+     */
+    default void statusChanged(final Ticket ticket, final Status oldStatus) {
+    }
+
+    /**
+     * @param ticket the ticket, already holding its new business priority
+     * @param oldPriority the priority it had before
+     */
+    default void priorityChanged(final Ticket ticket, final BussinessPriority oldPriority) {
+    }
+
+    /**
+     * @param ticket the ticket
+     * @param action the action, already appended to its history
+     */
+    default void actionRecorded(final Ticket ticket, final TicketAction action) {
+    }
+
+    /**
+     * @param ticket the ticket, with its history already truncated
+     * @param actors the authors of the removed actions
+     */
+    default void historyTruncated(final Ticket ticket, final Set<String> actors) {
+    }
+}
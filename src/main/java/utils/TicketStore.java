@@ -0,0 +1,214 @@
+package utils;
+
+import entities.BussinessPriority;
+import entities.Status;
+import entities.Ticket;
+import entities.TicketAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Store owning every reported ticket of a run, indexed by id in a growable array.
+ * Ids are handed out densely by {@link EngineContext#getTicketIdGlobal()}, so the slot of a
+ * ticket is its id; ids consumed by rejected reports are left as {@code null} slots.
+ * It is the single source of truth for tickets: users only keep ticket ids, and indexes or
+ * caches subscribe as {@link TicketListener} to follow the changes of the tickets, which
+ * report them through the store. Every reported change also bumps a version counter, for
+ * caches which only need to know whether anything changed. Iteration is in id order
+ */
+public final class TicketStore implements Iterable<Ticket> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Ticket[] tickets = new Ticket[INITIAL_CAPACITY];
+    private final BitSet ids = new BitSet();
+    private int size;
+    private long version;
+    private final List<TicketListener> listeners = new ArrayList<>();
+
+    /**
+     * Subscribes a listener to the changes of the tickets of the store
+     * @param listener the listener, notified of every ticket added afterwards
+     */
+    public void subscribe(final TicketListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a reported ticket under its id, growing the backing array if needed
+     * @param ticket the ticket, with its final id already assigned
+     */
+    public void add(final Ticket ticket) {
+        int id = ticket.getId();
+        if (id >= tickets.length) {
+            tickets = Arrays.copyOf(tickets, Math.max(tickets.length * 2, id + 1));
+        }
+        if (tickets[id] == null) {
+            size++;
+        }
+        tickets[id] = ticket;
+        ids.set(id);
+        version++;
+        for (TicketListener listener : listeners) {
+            listener.ticketAdded(ticket);
+        }
+    }
+
+    /**
+     * Resolves a ticket from its id
+     * @param id the ticket id, as received in a command
+     * @return the ticket, or {@code null} if no reported ticket has this id
+     */
+    public Ticket get(final int id) {
+        if (id < 0 || id >= tickets.length) {
+            return null;
+        }
+        return tickets[id];
+    }
+
+    /**
+     * @return the number of tickets in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of changes reported so far, tickets added included
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return one more than the highest id of the store, the length of its id sets
+     */
+    public int idBound() {
+        return ids.length();
+    }
+
+    /**
+     * @return the ids of every ticket of the store, as a copy the caller may modify
+     */
+    public BitSet allIds() {
+        return (BitSet) ids.clone();
+    }
+
+    /**
+     * Resolves a set of ids into their tickets
+     * @param ticketIds the ids, those of no reported ticket are skipped
+     * @return the tickets, in id order
+     */
+    public List<Ticket> resolve(final BitSet ticketIds) {
+        List<Ticket> resolved = new ArrayList<>(ticketIds.cardinality());
+        for (int id = ticketIds.nextSetBit(0); id >= 0; id = ticketIds.nextSetBit(id + 1)) {
+            Ticket ticket = get(id);
+            if (ticket != null) {
+                resolved.add(ticket);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * @return every ticket of the store, in id order
+     */
+    public List<Ticket> all() {
+        return resolve(ids);
+    }
+
+    @Override
+    public Iterator<Ticket> iterator() {
+        return new Iterator<>() {
+            private int next = ids.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Ticket next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                Ticket ticket = tickets[next];
+                next = ids.nextSetBit(next + 1);
+                return ticket;
+            }
+        };
+    }
+
+    /**
+     * Checks whether a ticket is the one owned by the store under its id
+     */
+    private boolean owns(final Ticket ticket) {
+        return get(ticket.getId()) == ticket;
+    }
+
+    /**
+     * Notifies the listeners of a status change, ignored for tickets not in the store
+     * @param ticket the ticket, already holding its new status
+     * @param oldStatus the status it had before
+     */
+    public void statusChanged(final Ticket ticket, final Status oldStatus) {
+        if (!owns(ticket) || oldStatus == ticket.getStatus()) {
+            return;
+        }
+        version++;
+        for (TicketListener listener : listeners) {
+            listener.statusChanged(ticket, oldStatus);
+        }
+    }
+
+    /**
+     * Notifies the listeners of a priority change, ignored for tickets not in the store
+     * @param ticket the ticket, already holding its new priority
+     * @param oldPriority the priority it had before
+     */
+    public void priorityChanged(final Ticket ticket, final BussinessPriority oldPriority) {
+        if (!owns(ticket) || oldPriority == ticket.getBusinessPriority()) {
+            return;
+        }
+        version++;
+        for (TicketListener listener : listeners) {
+            listener.priorityChanged(ticket, oldPriority);
+        }
+    }
+
+    /**
+     * Notifies the listeners of a new history action, ignored for tickets not in the store
+     * @param ticket the ticket
+     * @param action the action, already appended to its history
+     */
+    public void actionRecorded(final Ticket ticket, final TicketAction action) {
+        if (!owns(ticket)) {
+            return;
+        }
+        version++;
+        for (TicketListener listener : listeners) {
+            listener.actionRecorded(ticket, action);
+        }
+    }
+
+    /**
+     * Notifies the listeners of removed history actions,
+     * ignored for tickets not in the store
+     * @param ticket the ticket, with its history already truncated
+     * @param actors the authors of the removed actions
+     */
+    public void historyTruncated(final Ticket ticket, final Set<String> actors) {
+        if (!owns(ticket)) {
+            return;
+        }
+        version++;
+        for (TicketListener listener : listeners) {
+            listener.historyTruncated(ticket, actors);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+import entities.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the users of a run, resolving a username to its {@link User} in O(1).
+ * Users keep their loading order for iteration; when two users share a username the
+ * first one registered is the one resolved, as a scan of the list would find it
+ */
+public final class UserRegistry {
+    private final List<User> users = new ArrayList<>();
+    private final Map<String, User> byUsername = new HashMap<>();
+
+    /**
+     * Registers a user, making it visible to lookups and iteration
+     * @param user the user to register
+     */
+    public void add(final User user) {
+        users.add(user);
+        byUsername.putIfAbsent(user.getUsername(), user);
+    }
+
+    /**
+     * Removes every registered user
+     */
+    public void clear() {
+        users.clear();
+        byUsername.clear();
+    }
+
+    /**
+     * Resolves a user from its username
+     * @param username the username, may be {@code null}
+     * @return the user, or {@code null} if none is registered under this username
+     */
+    public User get(final String username) {
+        if (username == null) {
+            return null;
+        }
+        return byUsername.get(username);
+    }
+
+    /**
+     * @return a read-only live view of the users, in registration order
+     */
+    public List<User> asList() {
+        return Collections.unmodifiableList(users);
+    }
+}
@@ -0,0 +1,99 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of computed results, evicting the least recently used entry once full.
+ * Every entry remembers the version of the state it was computed from, and a lookup with
+ * any other version is a miss which drops the entry, so mutations only need to bump a
+ * version counter instead of tracking the entries they affect.
+ * Hits and misses are counted for inspection. Not thread safe, like the run it serves
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public final class VersionedCache<K, V> {
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int capacity;
+    private final Map<K, Entry<V>> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache
+     * @param capacity the maximum number of entries, at least 1
+     */
+    public VersionedCache(final int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > VersionedCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Looks a result up, counting a hit or a miss
+     * @param key the key of the result
+     * @param version the current version of the state
+     * @return the result, or {@code null} if absent or computed from another version
+     */
+    public V get(final K key, final long version) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a result, possibly evicting the least recently used entry
+     * @param key the key of the result
+     * @param version the version of the state the result was computed from
+     * @param value the result
+     */
+    public void put(final K key, final long version, final V value) {
+        entries.put(key, new Entry<>(version, value));
+    }
+
+    /**
+     * @return the number of lookups which found a current result
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups which found no result or a stale one
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of entries held, stale ones included
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cached result with the version it was computed from
+     */
+    private static final class Entry<V> {
+        private final long version;
+        private final V value;
+
+        Entry(final long version, final V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
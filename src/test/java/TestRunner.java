@@ -3,12 +3,21 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
 import com.puppycrawl.tools.checkstyle.PropertiesExpander;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import io.BinaryCommandLog;
+import io.OutputEncoding;
+import io.StreamFormat;
 import main.App;
+import main.RunOptions;
+import utils.EngineContext;
+import utils.VersionedCache;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.revwalk.RevCommit;
@@ -23,6 +32,7 @@ import org.xml.sax.InputSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintWriter;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -44,6 +54,9 @@ public class TestRunner {
 
     public static final String PASSED = "PASSED";
 
+    private static final File REPLAY_DIR = new File("target/replay");
+    private static final String PAGED_FIXTURE = "input/in_11_test_search.json";
+
     public static Stream<Arguments> data() {
         return Stream.of(
                 Arguments.of("01 - Report", "input/in_01_test_report.json", "out/out_01_test_report.json", "ref/ref_01_test_report.json", 2),
@@ -100,6 +113,203 @@ public class TestRunner {
 
     }
 
+    public static Stream<Arguments> replayModes() {
+        List<Arguments> modes = List.of(
+                Arguments.of("NDJSON input", new RunOptions.Builder()
+                        .inputFormat(StreamFormat.NDJSON).build()),
+                Arguments.of("NDJSON output", new RunOptions.Builder()
+                        .outputFormat(StreamFormat.NDJSON).build()),
+                Arguments.of("memory mapped", new RunOptions.Builder()
+                        .memoryMapped(true).build()),
+                Arguments.of("pipelined", new RunOptions.Builder()
+                        .pipelined(true).pipelineCapacity(2).build()),
+                Arguments.of("binary log", new RunOptions.Builder()
+                        .inputFormat(StreamFormat.BINARY).build()),
+                Arguments.of("compact output", new RunOptions.Builder()
+                        .outputEncoding(OutputEncoding.COMPACT).build()),
+                Arguments.of("CBOR output", new RunOptions.Builder()
+                        .outputEncoding(OutputEncoding.CBOR).build())
+        );
+        return data().flatMap(fixture -> modes.stream().map(mode -> Arguments.of(
+                fixture.get()[0], mode.get()[0], mode.get()[1], fixture.get()[1], fixture.get()[3])));
+    }
+
+    @ParameterizedTest(name = "Replay {0} - {1}")
+    @MethodSource("replayModes")
+    public void replay(
+            final String testName,
+            final String mode,
+            final RunOptions options,
+            final String inputPath,
+            final String refPath
+    ) throws IOException {
+        String replayName = mode.replace(' ', '_') + "_" + new File(inputPath).getName();
+        File input = replayInput(new File(inputPath), options.getInputFormat(),
+                new File(REPLAY_DIR, "in_" + replayName));
+        File output = new File(REPLAY_DIR, "out_" + replayName);
+        App.run(input.getPath(), output.getPath(), options);
+
+        assertThatJson(readResults(output, options))
+                .isEqualTo(objectMapper.readTree(new File(refPath)));
+    }
+
+    private static File replayInput(final File input, final StreamFormat format,
+                                    final File replayed) throws IOException {
+        replayed.getParentFile().mkdirs();
+        switch (format) {
+            case NDJSON -> {
+                try (PrintWriter writer = new PrintWriter(replayed)) {
+                    for (JsonNode command : objectMapper.readTree(input)) {
+                        writer.println(objectMapper.writeValueAsString(command));
+                    }
+                }
+                return replayed;
+            }
+            case BINARY -> {
+                BinaryCommandLog.convert(input, StreamFormat.JSON_ARRAY, replayed);
+                return replayed;
+            }
+            default -> {
+                return input;
+            }
+        }
+    }
+
+    private static JsonNode readResults(final File output, final RunOptions options)
+            throws IOException {
+        if (options.getOutputEncoding() == OutputEncoding.CBOR) {
+            return new ObjectMapper(new CBORFactory()).readTree(output);
+        }
+        if (options.getOutputFormat() == StreamFormat.NDJSON) {
+            ArrayNode results = objectMapper.createArrayNode();
+            objectMapper.readerFor(JsonNode.class).<JsonNode>readValues(output)
+                    .forEachRemaining(results::add);
+            return results;
+        }
+        return objectMapper.readTree(output);
+    }
+
+    public static Stream<Arguments> pageWalks() {
+        return Stream.of(
+                Arguments.of("search", "results", 1),
+                Arguments.of("search", "results", 4),
+                Arguments.of("viewTickets", "tickets", 1),
+                Arguments.of("viewTickets", "tickets", 4)
+        );
+    }
+
+    @ParameterizedTest(name = "Paginate {0} by {2}")
+    @MethodSource("pageWalks")
+    public void paginate(
+            final String command,
+            final String listField,
+            final int limit
+    ) throws IOException {
+        JsonNode fixture = objectMapper.readTree(new File(PAGED_FIXTURE));
+        // the listing is issued by the manager right before the final command
+        JsonNode last = fixture.get(fixture.size() - 1);
+        ObjectNode listing = objectMapper.createObjectNode();
+        listing.put("command", command);
+        listing.put("username", last.get("username").asText());
+        listing.put("timestamp", last.get("timestamp").asText());
+        if (command.equals("search")) {
+            listing.putObject("filters").put("searchType", "TICKET");
+        }
+
+        List<JsonNode> walked = new ArrayList<>();
+        JsonNode full = null;
+        String cursor = null;
+        do {
+            ObjectNode page = listing.deepCopy();
+            page.put("limit", limit);
+            if (cursor != null) {
+                page.put("cursor", cursor);
+            }
+            ArrayNode commands = beforeLastCommand(fixture, listing, page);
+            File input = new File(REPLAY_DIR, "in_paginate_" + command + "_" + limit + ".json");
+            File output = new File(REPLAY_DIR, "out_paginate_" + command + "_" + limit + ".json");
+            input.getParentFile().mkdirs();
+            objectMapper.writeValue(input, commands);
+            App.run(input.getPath(), output.getPath());
+
+            List<JsonNode> listings = new ArrayList<>();
+            for (JsonNode result : objectMapper.readTree(output)) {
+                if (command.equals(result.path("command").asText())) {
+                    listings.add(result);
+                }
+            }
+            full = listings.get(listings.size() - 2);
+            JsonNode pageResult = listings.get(listings.size() - 1);
+            assertThat(full.has("nextCursor")).isFalse();
+            assertThat(pageResult.get(listField).size()).isBetween(1, limit);
+            pageResult.get(listField).forEach(walked::add);
+            cursor = pageResult.hasNonNull("nextCursor")
+                    ? pageResult.get("nextCursor").asText() : null;
+            assertThat(walked.size()).isLessThanOrEqualTo(full.get(listField).size());
+        } while (cursor != null);
+
+        // the pages join up to the unpaginated listing, without gaps or duplicates
+        assertThat(full.get(listField).size()).isGreaterThan(limit);
+        assertThat(walked).containsExactlyElementsOf(full.get(listField));
+    }
+
+    @Test
+    public void searchCache() throws IOException {
+        JsonNode fixture = objectMapper.readTree(new File(PAGED_FIXTURE));
+        JsonNode last = fixture.get(fixture.size() - 1);
+        ObjectNode search = objectMapper.createObjectNode();
+        search.put("command", "search");
+        search.put("username", last.get("username").asText());
+        search.put("timestamp", last.get("timestamp").asText());
+        search.putObject("filters").put("searchType", "TICKET").put("businessPriority", "MEDIUM");
+        // ticket 2 is assigned to this developer by the fixture, ticket 4 is open in her milestone
+        ObjectNode changeStatus = objectMapper.createObjectNode();
+        changeStatus.put("command", "changeStatus");
+        changeStatus.put("username", "alexandra_main_fullstack");
+        changeStatus.put("timestamp", last.get("timestamp").asText());
+        changeStatus.put("ticketID", 2);
+        ObjectNode assign = changeStatus.deepCopy();
+        assign.put("command", "assignTicket");
+        assign.put("ticketID", 4);
+
+        VersionedCache<?, ?> base = replaySearches(fixture, "base").getSearchCache();
+        VersionedCache<?, ?> repeated = replaySearches(fixture, "repeated", search, search)
+                .getSearchCache();
+        assertThat(repeated.getMisses() - base.getMisses()).isEqualTo(1);
+        assertThat(repeated.getHits() - base.getHits()).isEqualTo(1);
+
+        VersionedCache<?, ?> changed = replaySearches(fixture, "changed",
+                search, changeStatus, search, search).getSearchCache();
+        assertThat(changed.getMisses() - base.getMisses()).isEqualTo(2);
+        assertThat(changed.getHits() - base.getHits()).isEqualTo(1);
+
+        VersionedCache<?, ?> assigned = replaySearches(fixture, "assigned",
+                search, assign, search, search).getSearchCache();
+        assertThat(assigned.getMisses() - base.getMisses()).isEqualTo(2);
+        assertThat(assigned.getHits() - base.getHits()).isEqualTo(1);
+    }
+
+    private static EngineContext replaySearches(final JsonNode fixture, final String name,
+                                                final JsonNode... commands) throws IOException {
+        File input = new File(REPLAY_DIR, "in_cache_" + name + ".json");
+        input.getParentFile().mkdirs();
+        objectMapper.writeValue(input, beforeLastCommand(fixture, commands));
+        return App.run(input.getPath(), new File(REPLAY_DIR, "out_cache_" + name + ".json")
+                .getPath(), RunOptions.defaults());
+    }
+
+    private static ArrayNode beforeLastCommand(final JsonNode fixture,
+                                               final JsonNode... inserted) {
+        ArrayNode commands = objectMapper.createArrayNode();
+        for (int i = 0; i < fixture.size() - 1; i++) {
+            commands.add(fixture.get(i));
+        }
+        for (JsonNode command : inserted) {
+            commands.add(command);
+        }
+        return commands.add(fixture.get(fixture.size() - 1));
+    }
+
     @Test
     public void testCheckstyle() throws CheckstyleException, IOException {
         File configFile = new File("src/test/resources/checkstyle/checkstyle.xml");
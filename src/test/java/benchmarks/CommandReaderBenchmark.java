@@ -0,0 +1,102 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import entities.Command;
+import io.BinaryCommandLog;
+import io.CommandSource;
+import io.StreamFormat;
+import main.App;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the ways of ingesting a command log: the former
+ * {@code MAPPER.readTree(new File(...))} of the whole array, the streaming reader over a
+ * regular file, the streaming reader over memory-mapped regions and the replay of the same
+ * log converted to the {@link BinaryCommandLog} format.
+ * Only parsing (and binding into commands) is measured, commands are not handled.
+ * Run with {@code java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main
+ * benchmarks.CommandReaderBenchmark -prof gc}, it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandReaderBenchmark {
+    private static final String SEED = "input/in_18_test_complex.json";
+    private static final File LOG = new File("target/bench/commands.json");
+    private static final File BINARY_LOG = new File("target/bench/commands.bin");
+
+    @Param({"500000"})
+    private int commands;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        JsonNode seed = App.MAPPER.readTree(new File(SEED));
+        LOG.getParentFile().mkdirs();
+        try (JsonGenerator generator = App.MAPPER.getFactory().createGenerator(LOG,
+                JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int i = 0; i < commands; i++) {
+                App.MAPPER.writeTree(generator, seed.get(i % seed.size()));
+            }
+            generator.writeEndArray();
+        }
+        BinaryCommandLog.convert(LOG, StreamFormat.JSON_ARRAY, BINARY_LOG);
+    }
+
+    @Benchmark
+    public long readTree() throws IOException {
+        JsonNode root = App.MAPPER.readTree(LOG);
+        long count = 0;
+        for (JsonNode command : root) {
+            count += command.size() > 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long streamFile() throws IOException {
+        return count(StreamFormat.JSON_ARRAY, LOG, false);
+    }
+
+    @Benchmark
+    public long streamMapped() throws IOException {
+        return count(StreamFormat.JSON_ARRAY, LOG, true);
+    }
+
+    @Benchmark
+    public long binaryReplay() throws IOException {
+        return count(StreamFormat.BINARY, BINARY_LOG, false);
+    }
+
+    private static long count(StreamFormat format, File log, boolean mapped)
+            throws IOException {
+        long count = 0;
+        try (CommandSource source = format.openSource(log, mapped)) {
+            Command command;
+            while ((command = source.next()) != null) {
+                count += command.getCommand() != null ? 1 : 0;
+            }
+        }
+        return count;
+    }
+}
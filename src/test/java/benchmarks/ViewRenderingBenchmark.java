@@ -0,0 +1,137 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import entities.Bug;
+import entities.BussinessPriority;
+import entities.Comment;
+import entities.ExpertiseArea;
+import entities.Frequency;
+import entities.Severity;
+import entities.Status;
+import entities.Ticket;
+import entities.TicketAction;
+import entities.TicketViewRenderer;
+import main.App;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the viewTicketHistory rendering paths: the former one building an
+ * {@code ObjectNode} per ticket, action ({@code valueToTree}) and comment before
+ * serializing the tree, and the {@link TicketViewRenderer} writing to the generator.
+ * Run the allocation comparison with
+ * {@code java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main
+ * benchmarks.ViewRenderingBenchmark -prof gc}, it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewRenderingBenchmark {
+    private static final int ACTIONS_PER_TICKET = 6;
+    private static final int COMMENTS_PER_TICKET = 3;
+
+    @Param({"100", "5000"})
+    private int tickets;
+
+    private List<Ticket> visibleTickets;
+    private JsonGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        visibleTickets = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            Ticket ticket = new Bug.Builder("expected", "actual",
+                    Frequency.OCCASIONAL, Severity.MODERATE)
+                    .id(i)
+                    .title("Ticket number " + i)
+                    .businessPriority(BussinessPriority.values()[i % 4])
+                    .status(Status.IN_PROGRESS)
+                    .expertiseArea(ExpertiseArea.BACKEND)
+                    .description("Description of ticket " + i)
+                    .reportedBy("reporter" + (i % 10))
+                    .build();
+            ticket.setCreatedAt("2025-10-01");
+            ticket.setAssignedAt("2025-10-02");
+            for (int a = 0; a < ACTIONS_PER_TICKET; a++) {
+                ticket.addHistoryAction(TicketAction.statusChanged("OPEN", "IN_PROGRESS",
+                        "dev" + a, "2025-10-0" + (a + 1)));
+            }
+            for (int c = 0; c < COMMENTS_PER_TICKET; c++) {
+                ticket.addComment(new Comment("comment " + c, "reporter" + c, "2025-10-05"));
+            }
+            visibleTickets.add(ticket);
+        }
+        generator = App.MAPPER.getFactory().createGenerator(OutputStream.nullOutputStream());
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartArray();
+    }
+
+    @Benchmark
+    public void tree() throws IOException {
+        ObjectNode root = App.MAPPER.createObjectNode();
+        root.put("command", "viewTicketHistory");
+        root.put("username", "manager");
+        root.put("timestamp", "2025-10-10");
+        ArrayNode ticketsArray = App.MAPPER.createArrayNode();
+        for (Ticket ticket : visibleTickets) {
+            ObjectNode ticketNode = App.MAPPER.createObjectNode();
+            ticketNode.put("id", ticket.getId());
+            ticketNode.put("title", ticket.getTitle());
+            ticketNode.put("status", ticket.getStatus().name());
+            ArrayNode actionsArray = App.MAPPER.createArrayNode();
+            for (TicketAction action : ticket.getHistory()) {
+                actionsArray.add(App.MAPPER.valueToTree(action));
+            }
+            ticketNode.set("actions", actionsArray);
+            ArrayNode commentsArray = App.MAPPER.createArrayNode();
+            for (Comment comment : ticket.getComments()) {
+                ObjectNode commentNode = App.MAPPER.createObjectNode();
+                commentNode.put("author", comment.getAuthor());
+                commentNode.put("content", comment.getContent());
+                commentNode.put("createdAt", comment.getCreatedAt());
+                commentsArray.add(commentNode);
+            }
+            ticketNode.set("comments", commentsArray);
+            ticketsArray.add(ticketNode);
+        }
+        root.set("ticketHistory", ticketsArray);
+        App.MAPPER.writeTree(generator, root);
+        generator.flush();
+    }
+
+    @Benchmark
+    public void direct() throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("command", "viewTicketHistory");
+        generator.writeStringField("username", "manager");
+        generator.writeStringField("timestamp", "2025-10-10");
+        generator.writeArrayFieldStart("ticketHistory");
+        for (Ticket ticket : visibleTickets) {
+            TicketViewRenderer.writeTicketHistory(generator, ticket);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+}
@@ -0,0 +1,81 @@
+package io;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BinaryCommandReaderTest {
+    private static final File FIXTURE = new File("input/in_18_test_complex.json");
+    private static final File LOG = new File("target/replay/in_18_test_complex.bin");
+    private static final int CORRUPTIONS = 2000;
+
+    private static byte[] log;
+    private static int commands;
+
+    @BeforeAll
+    public static void convert() throws IOException {
+        commands = (int) BinaryCommandLog.convert(FIXTURE, StreamFormat.JSON_ARRAY, LOG);
+        log = Files.readAllBytes(LOG.toPath());
+    }
+
+    @Test
+    public void replaysEveryCommand() throws IOException {
+        assertThat(replay(log)).isEqualTo(commands);
+    }
+
+    @Test
+    public void rejectsForeignInput() {
+        byte[] foreign = "[{\"command\": \"search\"}]".getBytes();
+
+        assertThatThrownBy(() -> replay(foreign)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void truncatedLogFailsWithIOException() {
+        for (int length = 0; length < log.length; length++) {
+            byte[] truncated = Arrays.copyOf(log, length);
+            try {
+                replay(truncated);
+            } catch (IOException e) {
+                continue;
+            }
+            // only a cut between two records reads as a shorter log
+            assertThat(length).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    public void corruptedLogFailsWithIOException() {
+        Random random = new Random(42);
+        for (int i = 0; i < CORRUPTIONS; i++) {
+            byte[] corrupted = log.clone();
+            int offset = random.nextInt(corrupted.length);
+            corrupted[offset] = (byte) random.nextInt(256);
+            try {
+                replay(corrupted);
+            } catch (IOException e) {
+                // expected for most corruptions, any other exception fails the test
+            }
+        }
+    }
+
+    private static int replay(final byte[] bytes) throws IOException {
+        int count = 0;
+        try (BinaryCommandReader reader = new BinaryCommandReader(
+                new ByteArrayInputStream(bytes))) {
+            while (reader.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,73 @@
+package main;
+
+import entities.Command;
+import io.CommandSource;
+import io.OutputSink;
+import io.ResultWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CommandPipelineTest {
+    private static final int PARSED_BEFORE_FAILURE = 5;
+
+    private static final OutputSink DISCARD = new OutputSink() {
+        @Override
+        public void write(final ResultWriter writer) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Test
+    public void rethrowsRuntimeFailureOfParser() {
+        IllegalStateException broken = new IllegalStateException("corrupted input");
+        AtomicInteger executed = new AtomicInteger();
+
+        assertThatThrownBy(() -> new CommandPipeline(2).run(failingSource(broken), DISCARD,
+                (command, outputs) -> executed.incrementAndGet()))
+                .isSameAs(broken);
+        assertThat(executed.get()).isEqualTo(PARSED_BEFORE_FAILURE);
+    }
+
+    @Test
+    public void rethrowsReadFailureOfParser() {
+        IOException broken = new IOException("truncated input");
+        AtomicInteger executed = new AtomicInteger();
+
+        assertThatThrownBy(() -> new CommandPipeline(2).run(failingSource(broken), DISCARD,
+                (command, outputs) -> executed.incrementAndGet()))
+                .isSameAs(broken);
+        assertThat(executed.get()).isEqualTo(PARSED_BEFORE_FAILURE);
+    }
+
+    /**
+     * Source yielding a few commands, then failing partway through the input
+     */
+    private static CommandSource failingSource(final Exception failure) {
+        return new CommandSource() {
+            private int parsed;
+
+            @Override
+            public Command next() throws IOException {
+                if (parsed++ < PARSED_BEFORE_FAILURE) {
+                    return new Command();
+                }
+                if (failure instanceof IOException ioFailure) {
+                    throw ioFailure;
+                }
+                throw (RuntimeException) failure;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
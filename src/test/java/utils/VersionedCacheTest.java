@@ -0,0 +1,36 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionedCacheTest {
+    @Test
+    public void evictsLeastRecentlyUsedEntry() {
+        VersionedCache<String, Integer> cache = new VersionedCache<>(2);
+        cache.put("a", 0, 1);
+        cache.put("b", 0, 2);
+        assertThat(cache.get("a", 0)).isEqualTo(1);
+
+        // "b" is now the least recently used entry
+        cache.put("c", 0, 3);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b", 0)).isNull();
+        assertThat(cache.get("a", 0)).isEqualTo(1);
+        assertThat(cache.get("c", 0)).isEqualTo(3);
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void dropsEntryOfAnotherVersion() {
+        VersionedCache<String, Integer> cache = new VersionedCache<>(2);
+        cache.put("a", 0, 1);
+
+        assertThat(cache.get("a", 1)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", 0)).isNull();
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+}